@@ -16,6 +16,7 @@ import com.mrv.yangtools.codegen.impl.path.rfc8040.PathHandlerBuilder;
 import com.mrv.yangtools.codegen.impl.postprocessor.*;
 import com.mrv.yangtools.common.ContextHelper;
 import io.swagger.models.auth.BasicAuthDefinition;
+import io.swagger.util.Json;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -75,6 +76,24 @@ public class Main {
     @Option(name = "-fullCrud", usage="If the flag is set to false path are generated for GET operations only. Default true")
     public boolean fullCrud = true;
 
+    @Option(name = "-use-references", usage="Define path parameters and standard responses once and use references to them in operations. Default false")
+    public boolean useReferences = false;
+
+    @Option(name = "-parallel", usage="Build models of top-level data nodes and run postprocessing of paths and definitions in parallel. Default false")
+    public boolean parallel = false;
+
+    @Option(name = "-share-path-items", usage="Write identical path items and operations once, using YAML anchors. JSON output shares only identical path items. Default false")
+    public boolean sharePathItems = false;
+
+    @Option(name = "-description-budget", usage="Maximal length of descriptions in generated file, longer ones are truncated. Default unlimited", metaVar = "length")
+    public Integer descriptionBudget;
+
+    @Option(name = "-descriptions-output", usage="File to move descriptions longer than description budget (default 0) to, keyed by JSON pointer", metaVar = "file")
+    public String descriptionsOutput;
+
+    @Option(name = "-dry-run", usage="Instead of generating print number of paths, operations and definitions and estimated size of generated file per module and subtree. Default false")
+    public boolean dryRun = false;
+
     @Option(name="-elements", usage="Define YANG elements to focus on. Defaul DATA + RPC")
     public ElementType elementType = ElementType.DATA_AND_RPC;
 
@@ -150,6 +169,9 @@ public class Main {
         if (useNamespaces) {
             pathHandler.useModuleName();
         }
+        if (useReferences) {
+            pathHandler.useComponentReferences();
+        }
 
         validate(basePath);
 
@@ -160,6 +182,20 @@ public class Main {
                 .pathHandler(pathHandler)
                 .elements(map(elementType));
 
+        if(parallel) {
+            generator.parallelModels().parallelPostprocessing();
+        }
+
+        if(sharePathItems) {
+            generator.sharePathItems();
+        }
+
+        if(dryRun) {
+            Writer writer = new OutputStreamWriter(out);
+            writer.write(generator.estimate().report());
+            writer.flush();
+            return;
+        }
 
 
         if(AuthenticationMechanism.BASIC.equals(authenticationMechanism)) {
@@ -181,7 +217,21 @@ public class Main {
 
         generator.appendPostProcessor(new RemoveUnusedDefinitions());
 
+        DescriptionBudget descriptions = null;
+        if(descriptionsOutput != null) {
+            descriptions = new DescriptionBudget(descriptionBudget == null ? 0 : descriptionBudget).externalize();
+        } else if(descriptionBudget != null) {
+            descriptions = new DescriptionBudget(descriptionBudget);
+        }
+        if(descriptions != null) {
+            generator.appendPostProcessor(descriptions);
+        }
+
         generator.generate(new OutputStreamWriter(out));
+
+        if(descriptionsOutput != null) {
+            Json.mapper().writeValue(new File(descriptionsOutput), descriptions.descriptions());
+        }
     }
 
     private void validate(String basePath) {
@@ -17,6 +17,8 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
 
+import java.util.List;
+
 /**
  * API for handling YANG data types to Swagger models
  * @author cmurch@mrv.com
@@ -54,4 +56,11 @@ public interface DataObjectBuilder extends DataObjectRepo {
      */
     String addModel(EnumTypeDefinition enumType);
 
+    /**
+     * Announce models that are about to be built, possibly concurrently.
+     * Builders whose output depends on the order models are built in use it instead of the actual order.
+     * @param names of models in the order they would be built sequentially, empty once these are built
+     */
+    default void buildOrder(List<String> names) {}
+
 }
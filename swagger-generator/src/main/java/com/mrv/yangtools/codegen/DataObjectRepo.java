@@ -11,6 +11,7 @@
 package com.mrv.yangtools.codegen;
 
 import com.mrv.yangtools.codegen.impl.AbstractDataObjectBuilder;
+import com.mrv.yangtools.codegen.impl.StringPool;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -33,4 +34,12 @@ public interface DataObjectRepo {
      * @return name
      */
     <T extends SchemaNode & DataNodeContainer> String getName(T node);
+
+    /**
+     * Pool for identifiers and texts emitted during generation
+     * @return pool shared by all users of this repository
+     */
+    default StringPool strings() {
+        return StringPool.NONE;
+    }
 }
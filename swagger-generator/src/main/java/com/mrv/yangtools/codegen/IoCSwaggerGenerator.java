@@ -19,6 +19,7 @@ import com.mrv.yangtools.codegen.impl.AnnotatingTypeConverter;
 import com.mrv.yangtools.codegen.impl.ModuleUtils;
 import com.mrv.yangtools.codegen.impl.OptimizingDataObjectBuilder;
 import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
+import com.mrv.yangtools.codegen.impl.postprocessor.PostProcessorPipeline;
 import com.mrv.yangtools.codegen.impl.postprocessor.ReplaceEmptyWithParent;
 import io.swagger.models.Info;
 import io.swagger.models.Swagger;
@@ -56,7 +57,7 @@ public class IoCSwaggerGenerator {
     private final Swagger target;
     private final Set<String> moduleNames;
     private final ModuleUtils moduleUtils;
-    private Consumer<Swagger> postprocessor;
+    private final PostProcessorPipeline postprocessor = new PostProcessorPipeline();
     private DataObjectBuilder dataObjectsBuilder;
     private ObjectMapper mapper;
     private int maxDepth = Integer.MAX_VALUE;
@@ -118,7 +119,7 @@ public class IoCSwaggerGenerator {
         target.info(new Info());
 
         //default postprocessors
-        postprocessor = new ReplaceEmptyWithParent();
+        postprocessor.append(new ReplaceEmptyWithParent());
     }
 
     /**
@@ -143,7 +144,16 @@ public class IoCSwaggerGenerator {
 
     public IoCSwaggerGenerator appendPostProcessor(Consumer<Swagger> swaggerPostprocessor) {
         Objects.requireNonNull(swaggerPostprocessor);
-        postprocessor = postprocessor.andThen(swaggerPostprocessor);
+        postprocessor.append(swaggerPostprocessor);
+        return this;
+    }
+
+    /**
+     * Visit paths and definitions in parallel in postprocessors that support it
+     * @return this
+     */
+    public IoCSwaggerGenerator parallelPostprocessing() {
+        postprocessor.parallel(true);
         return this;
     }
 
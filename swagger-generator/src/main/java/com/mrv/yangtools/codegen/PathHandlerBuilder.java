@@ -11,6 +11,8 @@
 
 package com.mrv.yangtools.codegen;
 
+import com.mrv.yangtools.codegen.impl.SizeEstimate;
+import com.mrv.yangtools.codegen.impl.path.EstimatingPathHandler;
 import io.swagger.models.Swagger;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -23,6 +25,17 @@ import java.util.Collection;
 public interface PathHandlerBuilder {
     PathHandler forModule(Module module);
 
+    /**
+     * Handler for dry runs that counts the paths {@link #forModule(Module)} handler would generate.
+     * By default paths are counted as for a handler that generates all CRUD operations and no separate read-only paths
+     * @param module to handle
+     * @param estimate to count in
+     * @return counting handler
+     */
+    default PathHandler forEstimate(Module module, SizeEstimate estimate) {
+        return new EstimatingPathHandler(estimate, true, false);
+    }
+
     void configure(EffectiveModelContext ctx, Swagger target, DataObjectBuilder builder);
 
     void addTagGenerator(TagGenerator generator);
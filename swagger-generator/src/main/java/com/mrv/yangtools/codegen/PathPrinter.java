@@ -15,12 +15,12 @@ import com.google.common.base.Strings;
 import io.swagger.models.parameters.Parameter;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Allows for conversion of {@link PathSegment} to strings describing resources
@@ -32,6 +32,7 @@ public abstract class PathPrinter {
     protected final PathSegment path;
     protected final Function<Collection<? extends Parameter>, String> paramPrinter;
     protected final Function<Collection<? extends Parameter>, String> lastParamPrinter;
+    private final List<Object> printerKey;
 
     /**
      * Path printer that uses the same param conversion function for all segments
@@ -57,6 +58,7 @@ public abstract class PathPrinter {
         this.path = path;
         this.paramPrinter = paramPrinter;
         this.lastParamPrinter = lastParamPrinter;
+        this.printerKey = Arrays.asList(getClass(), useModuleName, paramPrinter);
     }
 
     /**
@@ -70,27 +72,36 @@ public abstract class PathPrinter {
      * @return resource string
      */
     public String path() {
-        LinkedList<PathSegment> result = new LinkedList<>();
-
-        PathSegment parent = path.drop();
-
         String lastSegment = segment(lastParamPrinter, path.getModuleName(), path);
 
-
-
-        for(PathSegment p : parent) {
-            result.addFirst(p);
-        }
-
-        String path = result.stream().map(s -> segment(paramPrinter, s.getModuleName(), s))
-                .filter(StringUtils::isNotBlank)
-                .collect(Collectors.joining("/"));
+        String path = prefix(this.path.parent());
         if(StringUtils.isNotBlank(path)) {
             return path + "/" + lastSegment;
         }
         return lastSegment;
     }
 
+    /**
+     * Configuration that affects how parent segments are printed.
+     * Printers with equal keys share parent paths memoized in {@link PathSegment}
+     * @return printer configuration key
+     */
+    protected Object printerKey() {
+        return printerKey;
+    }
+
+    private String prefix(PathSegment segment) {
+        if(segment == null || segment.parent() == null) return "";
+
+        return segment.rendered(printerKey(), s -> {
+            String parent = prefix(s.parent());
+            String current = segment(paramPrinter, s.getModuleName(), s);
+            if(StringUtils.isBlank(current)) return parent;
+            if(StringUtils.isBlank(parent)) return current;
+            return parent + "/" + current;
+        });
+    }
+
     private String removeTrailingSlash(String segment) {
         if(!path.isCollection()  && segment.endsWith("/")) {
             return segment.substring(0, segment.length() - 1);
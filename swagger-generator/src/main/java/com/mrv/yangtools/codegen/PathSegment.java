@@ -11,6 +11,7 @@
 
 package com.mrv.yangtools.codegen;
 
+import com.mrv.yangtools.codegen.impl.StringPool;
 import com.mrv.yangtools.codegen.impl.TypeConverter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.parameters.PathParameter;
@@ -22,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -42,10 +44,15 @@ public class PathSegment implements Iterable<PathSegment> {
     private PathSegment parent;
     private ListSchemaNode node;
     private TypeConverter converter;
+    private StringPool strings = StringPool.NONE;
 
     //local parameters
     private List<Parameter> localParams;
+    //local parameters with parameters of all parents
+    private List<Parameter> params;
     private boolean readOnly;
+    //rendered paths per printer configuration (few configurations, scanned linearly)
+    private List<Map.Entry<Object, String>> rendered;
 
     /**
      * To create a root segment of path
@@ -67,6 +74,7 @@ public class PathSegment implements Iterable<PathSegment> {
         Objects.requireNonNull(parent);
         this.parent = parent;
         this.converter = parent.converter;
+        this.strings = parent.strings;
         this.moduleName = parent.moduleName;
         this.readOnly = parent.readOnly;
         node = null;
@@ -75,16 +83,31 @@ public class PathSegment implements Iterable<PathSegment> {
     public PathSegment withName(String name) {
         log.debug("adding {} to {}", name, parent.name);
         this.name = name;
+        this.rendered = null;
         return this;
     }
 
     public PathSegment withModule(String module) {
         this.moduleName = module;
+        this.rendered = null;
+        return this;
+    }
+
+    /**
+     * Pool names and descriptions of parameters, inherited by segments created for this one
+     * @param strings pool of the generation
+     * @return this
+     */
+    public PathSegment withStrings(StringPool strings) {
+        Objects.requireNonNull(strings);
+        this.strings = strings;
         return this;
     }
 
     public PathSegment withListNode(ListSchemaNode node) {
         this.node = node;
+        this.rendered = null;
+        this.params = null;
         return this;
     }
 
@@ -106,6 +129,13 @@ public class PathSegment implements Iterable<PathSegment> {
         return isCollection() && !node.getKeyDefinition().isEmpty();
     }
 
+    /**
+     * @return keys of the list node of this segment, empty if segment is not a list
+     */
+    public Collection<QName> keys() {
+        return isCollection() ? node.getKeyDefinition() : Collections.emptyList();
+    }
+
     public boolean isReadOnly() {
         return readOnly;
     }
@@ -137,27 +167,76 @@ public class PathSegment implements Iterable<PathSegment> {
     }
 
 
-    public List<Parameter> params() {
-        final List<Parameter> params = parent.params();
-        params.addAll(localParameters());
+    /**
+     * Get path rendered for this segment (including its parents) by a printer with given configuration.
+     * The result is computed once and reused by all printers sharing the configuration.
+     * @param printerKey printer configuration
+     * @param render function used to render path when it is not known yet
+     * @return rendered path
+     */
+    String rendered(Object printerKey, Function<PathSegment, String> render) {
+        if(rendered == null) {
+            rendered = new ArrayList<>(2);
+        }
+        for(Map.Entry<Object, String> e : rendered) {
+            if(e.getKey().equals(printerKey)) {
+                return e.getValue();
+            }
+        }
+        final String path = render.apply(this);
+        rendered.add(new AbstractMap.SimpleImmutableEntry<>(printerKey, path));
+        return path;
+    }
 
-        return params;
+    /**
+     * Get parameters of this segment and all its parents.
+     * @return new list of path parameters
+     */
+    public List<Parameter> params() {
+        return new ArrayList<>(sharedParams());
     }
 
     public List<Parameter> listParams() {
         return parent.params();
     }
 
+    /**
+     * Get parameters of this segment and all its parents.
+     * The list is computed once and shared by all operations of the path and by child segments, thus it is not modifiable.
+     * @return unmodifiable list of path parameters
+     */
+    public List<Parameter> sharedParams() {
+        if(params == null) {
+            final Collection<? extends Parameter> local = localParameters();
+            if(local.isEmpty()) {
+                params = parent.sharedParams();
+            } else {
+                final List<Parameter> all = new ArrayList<>(parent.sharedParams());
+                all.addAll(local);
+                params = Collections.unmodifiableList(all);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * @return unmodifiable list of path parameters of the list this segment is an element of
+     * @see #sharedParams()
+     */
+    public List<Parameter> sharedListParams() {
+        return parent.sharedParams();
+    }
+
     protected Collection<? extends Parameter> localParameters() {
         if(localParams == null) {
             if(isCollection()) {
                 log.debug("processing parameters from attached node");
-                final Set<String> existingNames = parent.params().stream().map(Parameter::getName).collect(Collectors.toSet());
+                final Set<String> existingNames = parent.sharedParams().stream().map(Parameter::getName).collect(Collectors.toSet());
 
                 localParams = node.getKeyDefinition().stream()
                         .map(k -> {
 
-                            final String name = generateName(k, existingNames);
+                            final String name = strings.get(generateName(k, existingNames));
 
                             final PathParameter param = new PathParameter()
                                     .name(name);
@@ -169,7 +248,7 @@ public class PathSegment implements Iterable<PathSegment> {
                                     .findFirst();
 
                             keyNode.ifPresent(kN -> param
-                                    .description("Id of " + node.getQName().getLocalName())
+                                    .description(strings.get("Id of " + node.getQName().getLocalName()))
                                     .property(converter.convert(kN.getType(), kN)));
 
                             return param;
@@ -243,5 +322,15 @@ public class PathSegment implements Iterable<PathSegment> {
         public List<Parameter> listParams() {
             return params();
         }
+
+        @Override
+        public List<Parameter> sharedParams() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Parameter> sharedListParams() {
+            return sharedParams();
+        }
     };
 }
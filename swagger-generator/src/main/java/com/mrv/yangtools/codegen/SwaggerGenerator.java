@@ -13,15 +13,27 @@ package com.mrv.yangtools.codegen;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
 import com.mrv.yangtools.codegen.impl.AnnotatingTypeConverter;
+import com.mrv.yangtools.codegen.impl.FragmentCache;
+import com.mrv.yangtools.codegen.impl.ModuleSplitter;
 import com.mrv.yangtools.codegen.impl.ModuleUtils;
 import com.mrv.yangtools.codegen.impl.OptimizingDataObjectBuilder;
+import com.mrv.yangtools.codegen.impl.SharedPathItems;
+import com.mrv.yangtools.codegen.impl.SizeEstimate;
+import com.mrv.yangtools.codegen.impl.SwaggerCopier;
 import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
+import com.mrv.yangtools.codegen.impl.postprocessor.PostProcessorPipeline;
 import com.mrv.yangtools.codegen.impl.postprocessor.ReplaceEmptyWithParent;
 import com.mrv.yangtools.codegen.impl.postprocessor.SortComplexModels;
+import com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper;
 import com.mrv.yangtools.common.SwaggerUtils;
 import io.swagger.models.Info;
+import io.swagger.models.Model;
 import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
 import io.swagger.util.Json;
 import io.swagger.util.Yaml;
 import org.opendaylight.yangtools.yang.model.api.*;
@@ -29,8 +41,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -57,10 +74,20 @@ public class SwaggerGenerator {
     private final Swagger target;
     private final Set<String> moduleNames;
     private final ModuleUtils moduleUtils;
-    private Consumer<Swagger> postprocessor;
+    private final PostProcessorPipeline postprocessor = new PostProcessorPipeline();
     private DataObjectBuilder dataObjectsBuilder;
     private ObjectMapper mapper;
+    private SharedPathItems sharedPathItems;
+    private FragmentCache fragmentCache;
+    private Format format;
     private int maxDepth = Integer.MAX_VALUE;
+    private boolean lazyModels;
+    private boolean parallelModels;
+    private boolean materializeOnAccess;
+    private final List<PendingModel> pendingModels = new ArrayList<>();
+    private final Map<String, String> pathModules = new HashMap<>();
+    private boolean modulesProcessed;
+    private int subtree;
 
 
     private Set<Elements> toGenerate;
@@ -118,8 +145,12 @@ public class SwaggerGenerator {
             throw new IllegalStateException("No modules to generate has been specified");
         }
         this.ctx = ctx;
-        this.modules = modulesToGenerate;
-        target = new Swagger();
+        //canonical order, so that output does not depend on iteration order of the collection
+        this.modules = modulesToGenerate.stream()
+                .sorted(Comparator.comparing((org.opendaylight.yangtools.yang.model.api.Module m) -> m.getName())
+                        .thenComparing(m -> m.getRevision().map(Object::toString).orElse("")))
+                .collect(Collectors.toList());
+        target = new LazySwagger();
         converter = new AnnotatingTypeConverter(ctx);
         moduleUtils = new ModuleUtils(ctx);
         this.moduleNames = modulesToGenerate.stream().map(ModuleLike::getName).collect(Collectors.toSet());
@@ -131,7 +162,7 @@ public class SwaggerGenerator {
 
         pathHandlerBuilder = new com.mrv.yangtools.codegen.impl.path.rfc8040.PathHandlerBuilder();
         //default postprocessors
-        postprocessor = new ReplaceEmptyWithParent();
+        postprocessor.append(new ReplaceEmptyWithParent());
     }
 
     /**
@@ -154,9 +185,35 @@ public class SwaggerGenerator {
         return this;
     }
 
+    /**
+     * Add postprocessor to be run on generated swagger after already configured ones.
+     * Consecutive {@link com.mrv.yangtools.codegen.impl.postprocessor.SwaggerVisitor}s share traversals of the document
+     * @param swaggerPostprocessor to be added
+     * @return this
+     */
     public SwaggerGenerator appendPostProcessor(Consumer<Swagger> swaggerPostprocessor) {
         Objects.requireNonNull(swaggerPostprocessor);
-        postprocessor = postprocessor.andThen(swaggerPostprocessor);
+        postprocessor.append(swaggerPostprocessor);
+        return this;
+    }
+
+    /**
+     * Add postprocessor to be run on generated swagger before already configured ones, including the default ones
+     * @param swaggerPostprocessor to be added
+     * @return this
+     */
+    public SwaggerGenerator prependPostProcessor(Consumer<Swagger> swaggerPostprocessor) {
+        Objects.requireNonNull(swaggerPostprocessor);
+        postprocessor.prepend(swaggerPostprocessor);
+        return this;
+    }
+
+    /**
+     * Visit paths and definitions in parallel in postprocessors that support it
+     * @return this
+     */
+    public SwaggerGenerator parallelPostprocessing() {
+        postprocessor.parallel(true);
         return this;
     }
 
@@ -199,6 +256,60 @@ public class SwaggerGenerator {
      * @return itself
      */
     public SwaggerGenerator format(Format f) {
+        mapper = mapper(f);
+        format = f;
+        return this;
+    }
+
+    /**
+     * Read swagger document back, e.g. an intermediate artifact of the build written by {@link #generate(Writer)}.
+     * Documents are parsed with the same Jackson mappers they are written with, so that scalars read back unchanged.
+     * Reading JSON is considerably faster than YAML, so JSON is preferred for documents processed further.
+     * Only the text formats the generator writes are supported, there is no binary format.
+     * @param reader to read document from
+     * @param f format of the document
+     * @return swagger document
+     * @throws IOException when problem with reading
+     */
+    public static Swagger read(Reader reader, Format f) throws IOException {
+        final ObjectMapper mapper = mapper(f);
+        if(f == Format.YAML) {
+            //aliases written for shared path items are resolved while reading the tree
+            try(YAMLParser parser = (YAMLParser) mapper.getFactory().createParser(reader)) {
+                return mapper.treeToValue(SharedPathItems.readTree(parser), Swagger.class);
+            }
+        }
+        return mapper.readValue(reader, Swagger.class);
+    }
+
+    private ObjectWriter writer(ObjectMapper mapper, Swagger swagger) {
+        return sharedPathItems == null ? mapper.writer() : sharedPathItems.writer(mapper, swagger);
+    }
+
+    private void write(ObjectMapper mapper, Swagger swagger, Writer target) throws IOException {
+        //anchors of shared path items are written by the serializer only
+        if(fragmentCache == null || sharedPathItems != null || !fragmentCache.supports(mapper)) {
+            writer(mapper, swagger).writeValue(target, swagger);
+        } else {
+            fragmentCache.writeValue(mapper, mapper.valueToTree(swagger), target);
+        }
+    }
+
+    private byte[] write(ObjectMapper mapper, ObjectNode document) throws IOException {
+        if(fragmentCache == null) {
+            return mapper.writeValueAsBytes(document);
+        }
+        return fragmentCache.writeValueAsString(mapper, document).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void saveFragments() throws IOException {
+        if(fragmentCache != null) {
+            fragmentCache.save();
+        }
+    }
+
+    private static ObjectMapper mapper(Format f) {
+        ObjectMapper mapper;
         switch(f) {
             case YAML:
                 mapper = Yaml.mapper();
@@ -208,7 +319,7 @@ public class SwaggerGenerator {
                 mapper = Json.mapper();
         }
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return this;
+        return mapper;
     }
 
     /**
@@ -264,6 +375,53 @@ public class SwaggerGenerator {
         return this;
     }    
 
+    /**
+     * Build container and list models only when the definitions are first accessed after paths are generated,
+     * and only for the models path operations refer to at that moment. Models they use are built on demand by the
+     * data objects builder. Postprocessors that run before definitions are accessed, e.g. {@link com.mrv.yangtools.codegen.impl.postprocessor.PathPrunner}
+     * without types added with {@link #prependPostProcessor(Consumer)}, limit the models built to the remaining paths
+     * @return this
+     */
+    public SwaggerGenerator lazyModels() {
+        this.lazyModels = true;
+        return this;
+    }
+
+    /**
+     * Write structurally identical path items and operations once, e.g. GET operations of ODL <code>/config</code>
+     * and <code>/operational</code> paths. YAML output uses anchors and aliases. JSON output only references
+     * repeated whole path items, so operations shared by paths that differ otherwise are written in full.
+     * Elements are shared after all postprocessors are run, see {@link SharedPathItems}. The ODL path handler
+     * shares GET operations regardless of this option, only their output depends on it
+     * @return this
+     */
+    public SwaggerGenerator sharePathItems() {
+        this.sharedPathItems = new SharedPathItems();
+        return this;
+    }
+
+    /**
+     * Splice definitions and path items that did not change since a previous build from the cache,
+     * only changed entries are encoded again. Fragments are saved to the store of the cache after the documents
+     * are written. Documents with shared path items are written without the cache, see {@link FragmentCache}
+     * @param cache to use
+     * @return this
+     */
+    public SwaggerGenerator fragmentCache(FragmentCache cache) {
+        this.fragmentCache = Objects.requireNonNull(cache);
+        return this;
+    }
+
+    /**
+     * Build container and list models of sibling top-level data nodes in parallel, after paths are generated.
+     * Definitions are then ordered by name rather than by the order models are built in
+     * @return this
+     */
+    public SwaggerGenerator parallelModels() {
+        this.parallelModels = true;
+        return this;
+    }
+
     /**
      * Run Swagger generation for configured modules. Write result to target. The file format
      * depends on configured {@link SwaggerGenerator.Format}
@@ -273,14 +431,163 @@ public class SwaggerGenerator {
     public void generate(Writer target) throws IOException {
         if(target == null) throw new NullPointerException();
 
+        Swagger result = generate();
+        prepareForOutput(result);
+
+        write(mapper, result, target);
+        saveFragments();
+    }
+
+    /**
+     * Run Swagger generation for configured modules once and write result to all outputs concurrently.
+     * Postprocessors of outputs are run on the generated swagger, outputs that start with the same postprocessors
+     * share their results. Swagger is copied only where postprocessors of outputs diverge.
+     * @param outputs to write
+     * @throws IOException when problem with writing
+     */
+    public void generate(Output... outputs) throws IOException {
+        Objects.requireNonNull(outputs);
         Swagger result = generate();
 
+        List<Runnable> writes = new ArrayList<>();
+        branch(result, Arrays.asList(outputs), 0, writes);
+        try {
+            writes.parallelStream().forEach(Runnable::run);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        saveFragments();
+    }
+
+    /**
+     * Run Swagger generation for configured modules and write a document per module and a shared document
+     * to the directory, see {@link ModuleSplitter}. Documents are named after modules, the file format
+     * depends on configured {@link SwaggerGenerator.Format}. Documents are written in parallel,
+     * files that already have the same content are not rewritten.
+     * @param directory to write documents to
+     * @return files written
+     * @throws IOException when problem with writing
+     */
+    public List<java.nio.file.Path> generatePerModule(java.nio.file.Path directory) throws IOException {
+        Objects.requireNonNull(directory);
+        Swagger result = generate();
+        prepareForOutput(result);
+
+        String extension = format == Format.JSON ? ".json" : ".yaml";
+        Map<String, ObjectNode> documents = new ModuleSplitter(pathModules, m -> m + extension)
+                .split(Json.mapper().valueToTree(result));
+
+        Files.createDirectories(directory);
+        try {
+            List<java.nio.file.Path> written = documents.entrySet().parallelStream().map(d -> {
+                java.nio.file.Path file = directory.resolve(d.getKey() + extension);
+                try {
+                    byte[] content = write(mapper, d.getValue());
+                    if(Files.exists(file) && Arrays.equals(content, Files.readAllBytes(file))) {
+                        log.debug("{} not changed", file);
+                        return null;
+                    }
+                    Files.write(file, content);
+                    return file;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).filter(Objects::nonNull).sorted().collect(Collectors.toList());
+            saveFragments();
+            return written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Run next postprocessor of outputs and schedule writes of the outputs that have no more postprocessors
+     * @param swagger state of swagger after <code>step</code> postprocessors of outputs
+     * @param outputs sharing the state
+     * @param step number of postprocessors already run
+     * @param writes collected writes
+     */
+    private void branch(Swagger swagger, List<Output> outputs, int step, List<Runnable> writes) {
+        Map<Consumer<Swagger>, List<Output>> next = new LinkedHashMap<>();
+        List<Output> done = new ArrayList<>();
+        outputs.forEach(o -> {
+            if(o.postprocessors.size() > step) {
+                next.computeIfAbsent(o.postprocessors.get(step), x -> new ArrayList<>()).add(o);
+            } else {
+                done.add(o);
+            }
+        });
+
+        //the state is reused by the last branch only, others work on copies
+        int branches = next.size() + (done.isEmpty() ? 0 : 1);
+        for(Map.Entry<Consumer<Swagger>, List<Output>> b : next.entrySet()) {
+            Swagger branch = --branches > 0 ? SwaggerCopier.copy(swagger) : swagger;
+            b.getKey().accept(branch);
+            branch(branch, b.getValue(), step + 1, writes);
+        }
+
+        if(!done.isEmpty()) {
+            prepareForOutput(swagger);
+            done.forEach(o -> writes.add(() -> {
+                try {
+                    write(mapper(o.format), swagger, o.target);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
+    private void prepareForOutput(Swagger result) {
         new SortComplexModels().accept(result);
 
-        result.setDefinitions(SwaggerUtils.sortMap(result.getDefinitions()));
-        result.setPaths(SwaggerUtils.sortMap(result.getPaths()));
+        result.setDefinitions(sorted(result.getDefinitions()));
+        result.setPaths(sorted(result.getPaths()));
+        if(result.getParameters() != null) {
+            result.setParameters(sorted(result.getParameters()));
+        }
+        if(result.getResponses() != null) {
+            result.setResponses(sorted(result.getResponses()));
+        }
+        if(result.getTags() != null) {
+            result.getTags().sort(Comparator.comparing(Tag::getName));
+        }
+        if(sharedPathItems != null) {
+            sharedPathItems.share(result);
+        }
+    }
 
-        mapper.writeValue(target, result);
+    private static <T> Map<String, T> sorted(Map<String, T> map) {
+        return map instanceof SortedMap ? map : SwaggerUtils.sortMap(map);
+    }
+
+    /**
+     * Destination for generated swagger, see {@link SwaggerGenerator#generate(Output...)}
+     */
+    public static class Output {
+        private final Format format;
+        private final Writer target;
+        private final List<Consumer<Swagger>> postprocessors = new ArrayList<>();
+
+        /**
+         * @param format of output
+         * @param target writer
+         */
+        public Output(Format format, Writer target) {
+            this.format = Objects.requireNonNull(format);
+            this.target = Objects.requireNonNull(target);
+        }
+
+        /**
+         * Add postprocessor to be run for this output after the ones configured for generator.
+         * Outputs sharing the same postprocessor instances in the same order share their results
+         * @param postprocessor to add
+         * @return this
+         */
+        public Output postprocessor(Consumer<Swagger> postprocessor) {
+            postprocessors.add(Objects.requireNonNull(postprocessor));
+            return this;
+        }
     }
 
 
@@ -303,13 +610,17 @@ public class SwaggerGenerator {
         modules.forEach(m -> {
             mNames.add(m.getName());
             m.getDescription().ifPresent(mDescs::add);
-            dataObjectsBuilder.processModule(m);
-
         });
+        processModules();
         //initialize plugable path handler
         pathHandlerBuilder.configure(ctx, target, dataObjectsBuilder);
 
         modules.forEach(m -> new ModuleGenerator(m).generate());
+        if(lazyModels) {
+            materializeOnAccess = true;
+        } else {
+            materialize();
+        }
 
         // update info with module names and descriptions
         String modules = String.join(",", mNames);
@@ -327,42 +638,175 @@ public class SwaggerGenerator {
         return target;
     }
 
+    /**
+     * Dry run of generation for configured modules. Counts paths, operations and definitions per module
+     * and top-level subtree and estimates size of the document, without building it.
+     * Useful to choose {@link #maxDepth(int)} and elements to generate before generating for a large model.
+     * @return estimate
+     */
+    public SizeEstimate estimate() {
+        processModules();
+        SizeEstimate estimate = new SizeEstimate(dataObjectsBuilder instanceof OptimizingDataObjectBuilder);
+        modules.forEach(m -> new ModuleGenerator(m, estimate).generate());
+        return estimate;
+    }
+
+    private void processModules() {
+        if(modulesProcessed) return;
+        modules.forEach(dataObjectsBuilder::processModule);
+        modulesProcessed = true;
+    }
+
     /**
      * Replace empty definitions with their parents.
      * Sort models (ref models first)
      * @param target to work on
      */
     protected void postProcessSwagger(Swagger target) {
-        if(target.getDefinitions() == null || target.getDefinitions().isEmpty()) {
+        if(pendingModels.isEmpty() && (target.getDefinitions() == null || target.getDefinitions().isEmpty())) {
             log.warn("Generated swagger has no definitions");
             return;
         }
         postprocessor.accept(target);
     }
 
+    private <T extends SchemaNode & DataNodeContainer> void addModel(T node) {
+        if(lazyModels || parallelModels) {
+            pendingModels.add(new PendingModel(dataObjectsBuilder.getName(node), subtree, () -> dataObjectsBuilder.addModel(node)));
+        } else {
+            dataObjectsBuilder.addModel(node);
+        }
+    }
+
+    /**
+     * Build pending models, in the order they would be built eagerly. In lazy mode only models referred by path operations are built.
+     * Models of different top-level subtrees are built in parallel if configured
+     */
+    private void materialize() {
+        materializeOnAccess = false;
+        if(pendingModels.isEmpty()) return;
+
+        List<PendingModel> toBuild = pendingModels;
+        if(lazyModels) {
+            Set<String> roots = target.getPaths() == null ? Collections.emptySet() :
+                    target.getPaths().values().stream().flatMap(SwaggerRefHelper::getFromPath).collect(Collectors.toSet());
+            toBuild = pendingModels.stream().filter(m -> roots.contains(m.name)).collect(Collectors.toList());
+            log.info("{} of {} models built for paths", toBuild.size(), pendingModels.size());
+        }
+
+        if(parallelModels) {
+            Collection<List<PendingModel>> subtrees = toBuild.stream()
+                    .collect(Collectors.groupingBy(m -> m.subtree, LinkedHashMap::new, Collectors.toList())).values();
+            log.debug("building models of {} subtrees in parallel", subtrees.size());
+            dataObjectsBuilder.buildOrder(toBuild.stream().map(m -> m.name).collect(Collectors.toList()));
+            try {
+                subtrees.parallelStream().forEach(models -> models.forEach(m -> m.build.run()));
+            } finally {
+                dataObjectsBuilder.buildOrder(Collections.emptyList());
+            }
+        } else {
+            toBuild.forEach(m -> m.build.run());
+        }
+        pendingModels.clear();
+    }
+
+    private static class PendingModel {
+        private final String name;
+        private final int subtree;
+        private final Runnable build;
+
+        private PendingModel(String name, int subtree, Runnable build) {
+            this.name = name;
+            this.subtree = subtree;
+            this.build = build;
+        }
+    }
+
+    /**
+     * Swagger that builds pending models when definitions are first accessed.
+     * Definitions and paths are kept sorted as they are added, also when added concurrently
+     */
+    private class LazySwagger extends Swagger {
+        private LazySwagger() {
+            definitions = new ConcurrentSkipListMap<>();
+            paths = new ConcurrentSkipListMap<>();
+        }
+
+        @Override
+        public void setDefinitions(Map<String, Model> definitions) {
+            super.setDefinitions(definitions == null ? null : new ConcurrentSkipListMap<>(definitions));
+        }
+
+        @Override
+        public void setPaths(Map<String, io.swagger.models.Path> paths) {
+            super.setPaths(paths == null ? null : new ConcurrentSkipListMap<>(paths));
+        }
+
+        @Override
+        public Map<String, Model> getDefinitions() {
+            if(materializeOnAccess) materialize();
+            return super.getDefinitions();
+        }
+
+        @Override
+        public void addDefinition(String key, Model model) {
+            if(materializeOnAccess) materialize();
+            super.addDefinition(key, model);
+        }
+    }
+
     private class ModuleGenerator {
         private final org.opendaylight.yangtools.yang.model.api.Module module;
         private PathSegment pathCtx;
         private PathHandler handler;
+        private final SizeEstimate estimate;
 
         private ModuleGenerator(org.opendaylight.yangtools.yang.model.api.Module module) {
+            this(module, null);
+        }
+
+        /**
+         * @param module to generate
+         * @param estimate to count in instead of generating, or <code>null</code>
+         */
+        private ModuleGenerator(org.opendaylight.yangtools.yang.model.api.Module module, SizeEstimate estimate) {
             if(module == null) throw new NullPointerException("module is null");
             this.module = module;
-            handler = pathHandlerBuilder.forModule(module);
-
-
+            this.estimate = estimate;
+            handler = estimate == null ? pathHandlerBuilder.forModule(module) : pathHandlerBuilder.forEstimate(module, estimate);
         }
 
         void generate() {
+            if(estimate != null) {
+                estimate.module(module.getName());
+                generatePaths();
+                return;
+            }
+            Set<String> existing = target.getPaths() == null ? Collections.emptySet() : new HashSet<>(target.getPaths().keySet());
+            generatePaths();
+            if(target.getPaths() != null) {
+                target.getPaths().keySet().stream().filter(p -> !existing.contains(p))
+                        .forEach(p -> pathModules.put(p, module.getName()));
+            }
+        }
+
+        private void generatePaths() {
             if(toGenerate.contains(Elements.DATA)) {
                 pathCtx = new PathSegment(ctx)
-                        .withModule(module.getName());
-                module.getChildNodes().forEach(n -> generate(n, maxDepth));
+                        .withModule(module.getName())
+                        .withStrings(dataObjectsBuilder.strings());
+                module.getChildNodes().forEach(n -> {
+                    subtree++;
+                    if(estimate != null) estimate.subtree(n.getQName().getLocalName());
+                    generate(n, maxDepth);
+                });
             }
 
             if(toGenerate.contains(Elements.RPC)) {
                 pathCtx = new PathSegment(ctx)
-                        .withModule(module.getName());
+                        .withModule(module.getName())
+                        .withStrings(dataObjectsBuilder.strings());
+                if(estimate != null) estimate.subtree("operations");
                 module.getRpcs().forEach(this::generate);
             }
         }
@@ -399,7 +843,7 @@ public class SwaggerGenerator {
 
                 handler.path(cN, pathCtx);
                 cN.getChildNodes().forEach(n -> generate(n, depth-1));
-                dataObjectsBuilder.addModel(cN);
+                model(cN);
 
                 pathCtx = pathCtx.drop();
             } else if(node instanceof ListSchemaNode) {
@@ -414,7 +858,7 @@ public class SwaggerGenerator {
 
                 handler.path(lN, pathCtx);
                 lN.getChildNodes().forEach(n -> generate(n, depth-1));
-                dataObjectsBuilder.addModel(lN);
+                model(lN);
 
                 pathCtx = pathCtx.drop();
             } else if (node instanceof ChoiceSchemaNode) {
@@ -424,5 +868,13 @@ public class SwaggerGenerator {
                         .flatMap(_case -> _case.getChildNodes().stream()).forEach(n -> generate(n, depth-1));
             }
         }
+
+        private <T extends SchemaNode & DataNodeContainer> void model(T node) {
+            if(estimate != null) {
+                estimate.definition(node);
+            } else {
+                addModel(node);
+            }
+        }
     }
 }
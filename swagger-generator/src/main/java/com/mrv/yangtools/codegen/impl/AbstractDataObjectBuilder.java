@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -35,6 +36,7 @@ import static com.mrv.yangtools.common.BindingMapping.getClassName;
 import static com.mrv.yangtools.common.BindingMapping.nameToPackageSegment;
 
 /**
+ * Registries of names are safe to use from multiple threads. Definitions of the swagger are accessed while holding its lock.
  * @author cmurch@mrv.com
  * @author bartosz.michalik@amartus.com
  */
@@ -44,12 +46,15 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
 
 
     protected final Swagger swagger;
+    // guards definitions of the swagger while models are built in parallel
+    protected final Object definitionsLock = new Object();
     protected final TypeConverter converter;
     protected final EffectiveModelContext ctx;
     protected final ModuleUtils moduleUtils;
     protected final Map<SchemaNode, String> names;
     private final HashMap<QName, String> generatedEnums;
-    private final HashMap<DataNodeContainer, String> orgNames;
+    private final Map<DataNodeContainer, String> orgNames;
+    private final StringPool strings = new StringPool();
 
     protected final static Function<DataNodeContainer, Collection<? extends AugmentationSchemaNode>> augmentations = node -> {
         if(node instanceof AugmentationTarget) {
@@ -66,14 +71,14 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
             .anyMatch(c -> this.isTreeAugmented.test((DataNodeContainer) c)));
 
     public AbstractDataObjectBuilder(EffectiveModelContext ctx, Swagger swagger, TypeConverter converter) {
-        this.names = new HashMap<>();
+        this.names = new ConcurrentHashMap<>();
         this.converter = converter;
         converter.setDataObjectBuilder(this);
         this.swagger = swagger;
         this.ctx = ctx;
         this.moduleUtils = new ModuleUtils(ctx);
         this.generatedEnums = new HashMap<>();
-        this.orgNames = new HashMap<>();
+        this.orgNames = new ConcurrentHashMap<>();
 
         if(swagger.getDefinitions() == null) {
             swagger.setDefinitions(new LinkedHashMap<>());
@@ -87,7 +92,12 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
      */
     @Override
     public <T extends SchemaNode & DataNodeContainer> String getDefinitionRef(T node) {
-        return DEF_PREFIX + getName(node);
+        return strings.get(DEF_PREFIX + getName(node));
+    }
+
+    @Override
+    public StringPool strings() {
+        return strings;
     }
 
     /**
@@ -155,14 +165,12 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
             }
 
             if(original != null) {
-                if(! orgNames.containsKey(original)) {
-                    String name = generateName((SchemaNode)original, proposedName);
-                    orgNames.put(original, name);
-                } else {
+                String name = orgNames.get(original);
+                if(name != null) {
                     log.debug("reusing original definition to get name for {}", node.getQName());
+                    return name;
                 }
-
-                return orgNames.get(original);
+                return orgNames.computeIfAbsent(original, o -> generateName((SchemaNode) o, proposedName));
             } else {
                 DataNodeContainer t = (DataNodeContainer) node;
                 if(orgNames.containsKey(t)) {
@@ -282,7 +290,7 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
         //return BindingMapping.getPropertyName(node.getQName().getLocalName());
         String name = node.getQName().getLocalName();
         if(node.isAugmenting()) {
-            name = moduleName(node) + ":" + name;
+            name = strings.get(moduleName(node) + ":" + name);
         }
         return name;
     }
@@ -314,14 +322,16 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
         Model model = build(node);
 
 
-        if(swagger.getDefinitions() != null && swagger.getDefinitions().containsKey(modelName)) {
-            if(model.equals(swagger.getDefinitions().get(modelName))) {
-                return;
+        synchronized (definitionsLock) {
+            if(swagger.getDefinitions() != null && swagger.getDefinitions().containsKey(modelName)) {
+                if(model.equals(swagger.getDefinitions().get(modelName))) {
+                    return;
+                }
+                log.warn("Overriding model {} with node {}", modelName, node.getQName());
             }
-            log.warn("Overriding model {} with node {}", modelName, node.getQName());
-        }
 
-        swagger.addDefinition(modelName, model);
+            swagger.addDefinition(modelName, model);
+        }
     }
 
     public <T extends SchemaNode & DataNodeContainer> void addModel(T node) {
@@ -338,16 +348,20 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
         	qName = QName.create(qName, enumType.getPath().getParent().getLastComponent().getLocalName() + "-" + qName.getLocalName());
         }
 
-        if(! generatedEnums.containsKey(qName)) {
-            log.debug("generating enum model for {}",  qName);
-            String name = getName(qName);
-            ModelImpl enumModel = build(enumType, qName);
-            swagger.addDefinition(name, enumModel);
-            generatedEnums.put(qName, DEF_PREFIX + name);
-        } else {
-            log.debug("reusing enum model for {}", enumType.getQName());
+        synchronized (generatedEnums) {
+            if(! generatedEnums.containsKey(qName)) {
+                log.debug("generating enum model for {}",  qName);
+                String name = getName(qName);
+                ModelImpl enumModel = build(enumType, qName);
+                synchronized (definitionsLock) {
+                    swagger.addDefinition(name, enumModel);
+                }
+                generatedEnums.put(qName, DEF_PREFIX + name);
+            } else {
+                log.debug("reusing enum model for {}", enumType.getQName());
+            }
+            return generatedEnums.get(qName);
         }
-        return generatedEnums.get(qName);
     }
 
     protected ModelImpl build(EnumTypeDefinition enumType, QName qName) {
@@ -375,7 +389,7 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
 
     protected String desc(DocumentedNode node) {
         return  node.getReference().isEmpty() ? node.getDescription().orElse(null) :
-                node.getDescription().orElse(null) + " REF:" + node.getReference();
+                strings.get(node.getDescription().orElse(null) + " REF:" + node.getReference());
     }
 
     protected static class Pair {
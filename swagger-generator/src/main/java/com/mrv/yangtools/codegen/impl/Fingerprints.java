@@ -0,0 +1,82 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 128-bit murmur3 structural fingerprints of JSON trees.
+ * Each value is prefixed with its type and size to keep the encoding unambiguous.
+ * @author bartosz.michalik@amartus.com
+ */
+public final class Fingerprints {
+    private Fingerprints() {}
+
+    /**
+     * Fingerprint that does not depend on the order of object fields, e.g. of model properties
+     * @param node to fingerprint
+     * @return fingerprint
+     */
+    public static HashCode unordered(JsonNode node) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hash(node, false, hasher);
+        return hasher.hash();
+    }
+
+    /**
+     * Fingerprint that depends on the order of object fields, i.e. on the order the node is written in
+     * @param node to fingerprint
+     * @return fingerprint
+     */
+    public static HashCode ordered(JsonNode node) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hash(node, true, hasher);
+        return hasher.hash();
+    }
+
+    /**
+     * Feed the node to the hasher
+     * @param node to hash
+     * @param ordered object fields in node order if true, in name order otherwise
+     * @param hasher to feed
+     */
+    public static void hash(JsonNode node, boolean ordered, Hasher hasher) {
+        if(node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            if(!ordered) {
+                Collections.sort(names);
+            }
+            hasher.putByte((byte) '{').putInt(names.size());
+            for(String name : names) {
+                putString(name, hasher);
+                hash(node.get(name), ordered, hasher);
+            }
+        } else if(node.isArray()) {
+            hasher.putByte((byte) '[').putInt(node.size());
+            node.forEach(child -> hash(child, ordered, hasher));
+        } else {
+            hasher.putByte((byte) node.getNodeType().ordinal());
+            putString(node.asText(), hasher);
+        }
+    }
+
+    public static void putString(String value, Hasher hasher) {
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent cache of encoded definitions and path items. Each top-level entry of the <code>definitions</code>
+ * and <code>paths</code> sections is keyed by the {@link Fingerprints#ordered(JsonNode) fingerprint} of its content
+ * together with its name, the section and the output format and configuration of the mapper. Entries found in the cache
+ * are spliced into the document as encoded before, only changed entries are encoded again.
+ * The document is byte-identical to the one the mapper writes directly.
+ * <p>
+ * The store is a single file read on first use. {@link #save()} replaces it atomically with the entries
+ * used since the cache was created, so fragments of removed or changed entries are dropped.
+ * Mappers that write YAML, or JSON without indentation, are supported, other mappers write documents directly.
+ * @author bartosz.michalik@amartus.com
+ */
+public class FragmentCache {
+    private static final Logger log = LoggerFactory.getLogger(FragmentCache.class);
+    private static final int MAGIC = 0x59325346;
+    private static final int VERSION = 1;
+    private static final List<String> SECTIONS = Arrays.asList("paths", "definitions");
+
+    private final Path store;
+    private final Map<HashCode, String> fragments = new ConcurrentHashMap<>();
+    private final Set<HashCode> used = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private boolean loaded;
+    private int stored;
+    private long savedMisses;
+
+    /**
+     * @param store file to keep fragments in between builds
+     */
+    public FragmentCache(Path store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    /**
+     * @param mapper to check
+     * @return true if documents written with the mapper are spliced from fragments
+     */
+    public boolean supports(ObjectMapper mapper) {
+        return layout(mapper) != null;
+    }
+
+    /**
+     * Encode document with the mapper, reusing cached fragments of unchanged entries
+     * @param mapper to encode entries with
+     * @param document to encode
+     * @return encoded document
+     * @throws IOException when problem with encoding or reading the store
+     */
+    public String writeValueAsString(ObjectMapper mapper, ObjectNode document) throws IOException {
+        Layout layout = layout(mapper);
+        if(layout == null) {
+            return mapper.writeValueAsString(document);
+        }
+        load();
+        try {
+            return layout.document(document, this::fragment);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Write document to target as {@link #writeValueAsString(ObjectMapper, ObjectNode)} encodes it.
+     * The target is closed if the mapper closes targets it writes to.
+     * @param mapper to encode entries with
+     * @param document to encode
+     * @param target to write to
+     * @throws IOException when problem with encoding or writing
+     */
+    public void writeValue(ObjectMapper mapper, ObjectNode document, Writer target) throws IOException {
+        target.write(writeValueAsString(mapper, document));
+        if(mapper.getFactory().isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            target.close();
+        } else {
+            target.flush();
+        }
+    }
+
+    /**
+     * Replace the store with the fragments used since the cache was created
+     * @throws IOException when problem with writing the store
+     */
+    public synchronized void save() throws IOException {
+        if(!loaded || misses.sum() == savedMisses && used.size() == stored) {
+            return;
+        }
+        Path target = store.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            List<HashCode> keys = new ArrayList<>(used);
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(keys.size());
+                for(HashCode key : keys) {
+                    byte[] fragment = fragments.get(key).getBytes(StandardCharsets.UTF_8);
+                    out.write(key.asBytes());
+                    out.writeInt(fragment.length);
+                    out.write(fragment);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            stored = keys.size();
+            savedMisses = misses.sum();
+            log.debug("{} fragments saved to {}", stored, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @return number of entries spliced from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of entries encoded since the cache was created
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    private synchronized void load() {
+        if(loaded) {
+            return;
+        }
+        loaded = true;
+        if(!Files.exists(store)) {
+            return;
+        }
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(store)))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.info("{} is not a fragment cache of this version, ignored", store);
+                return;
+            }
+            int count = in.readInt();
+            for(int i = 0; i < count; i++) {
+                byte[] key = new byte[16];
+                in.readFully(key);
+                byte[] fragment = new byte[in.readInt()];
+                in.readFully(fragment);
+                fragments.put(HashCode.fromBytes(key), new String(fragment, StandardCharsets.UTF_8));
+            }
+            stored = count;
+            log.debug("{} fragments read from {}", count, store);
+        } catch (IOException e) {
+            log.warn("Cannot read fragment cache {}, starting empty", store, e);
+            fragments.clear();
+        }
+    }
+
+    private String fragment(Layout layout, String section, String name, JsonNode value) {
+        Hasher hasher = Hashing.murmur3_128().newHasher().putBytes(layout.config.asBytes());
+        Fingerprints.putString(section, hasher);
+        Fingerprints.putString(name, hasher);
+        Fingerprints.hash(value, true, hasher);
+        HashCode key = hasher.hash();
+        used.add(key);
+
+        String fragment = fragments.get(key);
+        if(fragment != null) {
+            hits.increment();
+            return fragment;
+        }
+        misses.increment();
+        fragment = layout.entry(section, name, value);
+        fragments.put(key, fragment);
+        return fragment;
+    }
+
+    /**
+     * @param mapper to write with
+     * @return layout of documents the mapper writes or null if the mapper is not supported
+     */
+    private static Layout layout(ObjectMapper mapper) {
+        JsonFactory factory = mapper.getFactory();
+        Layout layout;
+        if(factory instanceof YAMLFactory) {
+            String start = ((YAMLFactory) factory).isEnabled(YAMLGenerator.Feature.WRITE_DOC_START_MARKER) ? "---\n" : "";
+            layout = new Layout(mapper, start, "", "", s -> s + ":\n", "");
+        } else if(!mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            layout = new Layout(mapper, "{", ",", "}", s -> "\"" + s + "\":{", "}");
+        } else {
+            return null;
+        }
+        return layout.verified() ? layout : null;
+    }
+
+    /**
+     * Encoding of the mapper configuration that affects the output
+     */
+    private static HashCode config(ObjectMapper mapper) {
+        Hasher hasher = Hashing.murmur3_128().newHasher().putInt(VERSION);
+        JsonFactory factory = mapper.getFactory();
+        Fingerprints.putString(factory.getFormatName(), hasher);
+        Fingerprints.putString(mapper.version().toString(), hasher);
+        SerializationConfig config = mapper.getSerializationConfig();
+        Fingerprints.putString(String.valueOf(config.getDefaultPropertyInclusion()), hasher);
+        Arrays.stream(MapperFeature.values()).forEach(f -> hasher.putBoolean(config.isEnabled(f)));
+        Arrays.stream(SerializationFeature.values()).forEach(f -> hasher.putBoolean(config.isEnabled(f)));
+        Arrays.stream(JsonGenerator.Feature.values()).forEach(f -> hasher.putBoolean(factory.isEnabled(f)));
+        if(factory instanceof YAMLFactory) {
+            Arrays.stream(YAMLGenerator.Feature.values()).forEach(f -> hasher.putBoolean(((YAMLFactory) factory).isEnabled(f)));
+        }
+        return hasher.hash();
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        String get(Layout layout, String section, String name, JsonNode value);
+    }
+
+    /**
+     * Text around top-level fields and section entries, e.g. <code>{"paths":{...},...}</code> for compact JSON.
+     * Entries and fields are encoded in wrappers that place them at the same depth as in the document.
+     */
+    private static class Layout {
+        private final ObjectMapper mapper;
+        private final HashCode config;
+        private final String open;
+        private final String separator;
+        private final String close;
+        private final UnaryOperator<String> sectionOpen;
+        private final String sectionClose;
+
+        private Layout(ObjectMapper mapper, String open, String separator, String close,
+                       UnaryOperator<String> sectionOpen, String sectionClose) {
+            this.mapper = mapper;
+            this.config = config(mapper);
+            this.open = open;
+            this.separator = separator;
+            this.close = close;
+            this.sectionOpen = sectionOpen;
+            this.sectionClose = sectionClose;
+        }
+
+        /**
+         * @return true if a probe document is spliced to the same text the mapper writes
+         */
+        private boolean verified() {
+            ObjectNode probe = JsonNodeFactory.instance.objectNode().put("swagger", "2.0");
+            ObjectNode path = probe.putObject("paths").putObject("/a:b/c={id}").putObject("get");
+            path.put("description", String.join(" ", Collections.nCopies(30, "long description")));
+            path.putArray("tags").add("a").add("b");
+            probe.putObject("paths").putObject("/d");
+            probe.putObject("definitions").putObject("e").put("type", "object");
+            probe.putObject("parameters");
+            try {
+                return document(probe, (l, s, n, v) -> l.entry(s, n, v)).equals(mapper.writeValueAsString(probe));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Layout of {} not supported", mapper.getFactory().getFormatName(), e);
+                return false;
+            }
+        }
+
+        private String document(ObjectNode document, Encoder fragments) {
+            StringBuilder result = new StringBuilder(open);
+            Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+            while(fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String name = field.getKey();
+                JsonNode value = field.getValue();
+                if(SECTIONS.contains(name) && value.isObject() && value.size() > 0) {
+                    List<String> entries = new ArrayList<>();
+                    value.fieldNames().forEachRemaining(entries::add);
+                    result.append(sectionOpen.apply(name))
+                            .append(entries.parallelStream()
+                                    .map(e -> fragments.get(this, name, e, value.get(e)))
+                                    .collect(Collectors.joining(separator)))
+                            .append(sectionClose);
+                } else {
+                    ObjectNode wrapper = JsonNodeFactory.instance.objectNode();
+                    wrapper.set(name, value);
+                    result.append(strip(wrapper, open, close));
+                }
+                if(fields.hasNext()) {
+                    result.append(separator);
+                }
+            }
+            return result.append(close).toString();
+        }
+
+        private String entry(String section, String name, JsonNode value) {
+            ObjectNode wrapper = JsonNodeFactory.instance.objectNode();
+            wrapper.putObject(section).set(name, value);
+            return strip(wrapper, open + sectionOpen.apply(section), sectionClose + close);
+        }
+
+        private String strip(ObjectNode wrapper, String prefix, String suffix) {
+            String text;
+            try {
+                text = mapper.writeValueAsString(wrapper);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if(!text.startsWith(prefix) || !text.endsWith(suffix)) {
+                throw new IllegalStateException("Unexpected layout of " + text);
+            }
+            return text.substring(prefix.length(), text.length() - suffix.length());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Split swagger document into a document per YANG module and a document with shared elements.
+ * A module document has paths generated for the module and definitions used only by these paths.
+ * The shared document has definitions used by paths of multiple modules or by none of them,
+ * global parameters and responses and paths of unknown modules. References between documents are relative to the
+ * document files, e.g. <code>shared.yaml#/definitions/Name</code>
+ * @author bartosz.michalik@amartus.com
+ */
+public class ModuleSplitter {
+    private static final Logger log = LoggerFactory.getLogger(ModuleSplitter.class);
+    public static final String SHARED = "shared";
+    private static final String DEF_PREFIX = "#/definitions/";
+    private static final List<String> SHARED_COMPONENTS = List.of("parameters", "responses");
+
+    private final Map<String, String> pathModules;
+    private final Function<String, String> fileName;
+
+    /**
+     * @param pathModules module for each path
+     * @param fileName file name for document of the module or {@link #SHARED}
+     */
+    public ModuleSplitter(Map<String, String> pathModules, Function<String, String> fileName) {
+        this.pathModules = Objects.requireNonNull(pathModules);
+        this.fileName = Objects.requireNonNull(fileName);
+    }
+
+    /**
+     * @param document swagger document as tree
+     * @return documents by module name, including {@link #SHARED} one
+     */
+    public Map<String, ObjectNode> split(ObjectNode document) {
+        ObjectNode paths = object(document, "paths");
+        ObjectNode definitions = object(document, "definitions");
+
+        Map<String, Set<String>> uses = new HashMap<>();
+        definitions.fields().forEachRemaining(e -> uses.put(e.getKey(), references(e.getValue())));
+
+        Map<String, Set<String>> usedBy = new HashMap<>();
+        paths.fields().forEachRemaining(e -> {
+            String module = pathModules.getOrDefault(e.getKey(), SHARED);
+            Deque<String> toVisit = new ArrayDeque<>(references(e.getValue()));
+            while(!toVisit.isEmpty()) {
+                String type = toVisit.pop();
+                if(usedBy.computeIfAbsent(type, x -> new HashSet<>()).add(module)) {
+                    toVisit.addAll(uses.getOrDefault(type, Collections.emptySet()));
+                }
+            }
+        });
+
+        Map<String, String> owner = new HashMap<>();
+        definitions.fieldNames().forEachRemaining(d -> {
+            Set<String> modules = usedBy.getOrDefault(d, Collections.emptySet());
+            owner.put(d, modules.size() == 1 ? modules.iterator().next() : SHARED);
+        });
+
+        Map<String, ObjectNode> result = new LinkedHashMap<>();
+        Function<String, ObjectNode> doc = module -> result.computeIfAbsent(module, m -> header(document, m));
+        doc.apply(SHARED);
+        paths.fields().forEachRemaining(e ->
+                object(doc.apply(pathModules.getOrDefault(e.getKey(), SHARED)), "paths").set(e.getKey(), e.getValue()));
+        definitions.fields().forEachRemaining(e ->
+                object(doc.apply(owner.get(e.getKey())), "definitions").set(e.getKey(), e.getValue()));
+        SHARED_COMPONENTS.stream().filter(document::has)
+                .forEach(c -> result.get(SHARED).set(c, document.get(c)));
+
+        result.forEach((module, d) -> retarget(d, module, owner));
+        log.debug("document split into {} documents", result.size());
+        return result;
+    }
+
+    private ObjectNode header(ObjectNode document, String module) {
+        ObjectNode header = document.objectNode();
+        document.fields().forEachRemaining(e -> {
+            if("paths".equals(e.getKey())) {
+                //swagger requires paths
+                header.putObject("paths");
+            } else if(!"definitions".equals(e.getKey()) && !SHARED_COMPONENTS.contains(e.getKey())) {
+                header.set(e.getKey(), e.getValue().deepCopy());
+            }
+        });
+        if(!SHARED.equals(module) && header.get("info") instanceof ObjectNode) {
+            ((ObjectNode) header.get("info")).put("title", module + " API");
+        }
+        return header;
+    }
+
+    /**
+     * Point references to elements in other documents to these documents
+     */
+    private void retarget(JsonNode node, String module, Map<String, String> owner) {
+        if(node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            JsonNode ref = object.get("$ref");
+            if(ref != null && ref.isTextual() && ref.asText().startsWith("#/")) {
+                String value = ref.asText();
+                String target = value.startsWith(DEF_PREFIX) ? owner.get(value.substring(DEF_PREFIX.length())) : SHARED;
+                if(target != null && !target.equals(module)) {
+                    object.put("$ref", fileName.apply(target) + value);
+                }
+            }
+            object.forEach(child -> retarget(child, module, owner));
+        } else if(node.isArray()) {
+            node.forEach(child -> retarget(child, module, owner));
+        }
+    }
+
+    private static Set<String> references(JsonNode node) {
+        Set<String> result = new LinkedHashSet<>();
+        collect(node, result);
+        return result;
+    }
+
+    private static void collect(JsonNode node, Set<String> result) {
+        if(node.isObject()) {
+            JsonNode ref = node.get("$ref");
+            if(ref != null && ref.isTextual() && ref.asText().startsWith(DEF_PREFIX)) {
+                result.add(ref.asText().substring(DEF_PREFIX.length()));
+            }
+        }
+        node.forEach(child -> collect(child, result));
+    }
+
+    private static ObjectNode object(ObjectNode parent, String name) {
+        JsonNode node = parent.get(name);
+        return node instanceof ObjectNode ? (ObjectNode) node : parent.putObject(name);
+    }
+}
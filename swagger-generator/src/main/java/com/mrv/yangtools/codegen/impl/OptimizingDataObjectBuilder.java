@@ -24,6 +24,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -32,7 +34,9 @@ import java.util.stream.Stream;
 import static com.mrv.yangtools.codegen.impl.ModelUtils.isAugmentation;
 
 /**
- * The builder strategy is to reuse grouping wherever possible. Therefore in generated Swagger models, groupings are transformed to models
+ * The builder strategy is to reuse grouping wherever possible. Therefore in generated Swagger models, groupings are transformed to models.
+ * Models of independent subtrees can be built from multiple threads. The effective node context is kept per thread
+ * and each node is modeled once, threads that need a model being built elsewhere wait for it.
  * @author cmurch@mrv.com
  * @author bartosz.michalik@amartus.com
  */
@@ -42,20 +46,24 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     private HashMap<SchemaPath, GroupingDefinition> groupings;
 
     private Map<Object, Model> existingModels;
+    private final Map<DataNodeContainer, Slot> building;
+    // models threads wait for, guarded by itself
+    private final Map<Thread, Slot> waiting = new HashMap<>();
     private final GroupingHierarchyHandler groupingHierarchyHandler;
     private Map<Object, Set<UsesNode>> usesCache;
 
-    private final Deque<DataNodeContainer> effectiveNode;
+    private final ThreadLocal<Deque<DataNodeContainer>> effectiveNode;
 
     private static final Predicate<Map<?,?>> hasProperties = hm -> hm != null && !hm.isEmpty();
 
     public OptimizingDataObjectBuilder(EffectiveModelContext ctx, Swagger swagger, TypeConverter converter) {
         super(ctx, swagger, converter);
         groupings = new HashMap<>();
-        existingModels = new HashMap<>();
-        usesCache = new HashMap<>();
+        existingModels = new ConcurrentHashMap<>();
+        building = new ConcurrentHashMap<>();
+        usesCache = new ConcurrentHashMap<>();
         groupingHierarchyHandler = new GroupingHierarchyHandler(ctx);
-        effectiveNode = new LinkedList<>();
+        effectiveNode = ThreadLocal.withInitial(LinkedList::new);
 
         Collection<? extends Module> allModules = ctx.getModules();
         allModules.forEach(this::processGroupings);
@@ -63,7 +71,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     @SuppressWarnings("unchecked")
     public <T extends SchemaNode & DataNodeContainer> Optional<T> effective(T node) {
-        return effectiveNode.stream()
+        return effectiveNode.get().stream()
                 .filter(n -> n instanceof SchemaNode && ((SchemaNode) n).getQName().equals(node.getQName()))
                 .map(n -> (T)n).findFirst();
     }
@@ -87,21 +95,19 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         DataNodeContainer toCheck = original(node) == null ? node : original(node);
 
         if(isDirectGrouping(toCheck)) {
-            return names.get(grouping(toCheck));
+            GroupingDefinition grouping = grouping(toCheck);
+            return grouping == null ? null : names.get(grouping);
         }
-        String name = names.get(node);
-        if(name == null) {
-            name = generateName(node, null);
-            names.put(node, name);
-            log.info("generated name on the fly name for node {} is {}", node.getQName(), name);
-
-        }
-        return name;
+        return names.computeIfAbsent(node, n -> {
+            String name = generateName(n, null);
+            log.info("generated name on the fly name for node {} is {}", n.getQName(), name);
+            return name;
+        });
     }
 
     private <T extends SchemaNode & DataNodeContainer> T getEffectiveChild(QName name) {
-        if(effectiveNode.isEmpty()) return null;
-            return effectiveNode.stream().map(n -> n.getDataChildByName(name))
+        if(effectiveNode.get().isEmpty()) return null;
+            return effectiveNode.get().stream().map(n -> n.getDataChildByName(name))
                 .filter(n -> n instanceof DataNodeContainer)
                 .map(n -> (T)n)
                 .findFirst().orElse(null);
@@ -131,8 +137,8 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
             T n = (T) node;
             T effective = getEffectiveChild(n.getQName());
             if(effective == null) {
-                if(! effectiveNode.isEmpty()) {
-                    DataNodeContainer first = effectiveNode.getFirst();
+                if(! effectiveNode.get().isEmpty()) {
+                    DataNodeContainer first = effectiveNode.get().getFirst();
                     if(first instanceof SchemaNode && ((SchemaNode) first).getQName().equals(n.getQName())) {
                         effective = (T) first;
                     }
@@ -222,12 +228,60 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         }
         Model model = existingModel(node);
         if(model == null) {
-            model = model(node);
+            model = buildOnce(node);
         }
 
         return model;
     }
 
+    /**
+     * Model the node unless another thread is already doing it, in which case wait for its result.
+     * If waiting would close a cycle, i.e. the owner of the model waits (directly or through other threads)
+     * for a model this thread is building, the node is modeled on this thread instead.
+     * @param node to model
+     * @return model
+     */
+    private <T extends SchemaNode & DataNodeContainer> Model buildOnce(T node) {
+        final Thread current = Thread.currentThread();
+        Slot slot = new Slot();
+        Slot existing;
+        boolean cycle = false;
+        synchronized (waiting) {
+            existing = building.putIfAbsent(node, slot);
+            if(existing != null) {
+                for(Slot s = existing; s != null && !cycle; s = waiting.get(s.owner)) {
+                    cycle = s.owner == current;
+                }
+                if(!cycle) waiting.put(current, existing);
+            }
+        }
+        if(existing != null) {
+            if(cycle) return model(node);
+            try {
+                return existing.model.join();
+            } finally {
+                synchronized (waiting) {
+                    waiting.remove(current);
+                }
+            }
+        }
+        try {
+            Model model = model(node);
+            slot.model.complete(model);
+            return model;
+        } catch (RuntimeException e) {
+            slot.model.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(node);
+        }
+    }
+
+    private static class Slot {
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<Model> model = new CompletableFuture<>();
+    }
+
 
 
     private List<DataNodeContainer> findRelatedNodes(DataNodeContainer node) {
@@ -247,7 +301,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     }
 
     private <T extends DataNodeContainer> Model existingModel(T node) {
-        return findRelatedNodes(node).stream().map(n -> existingModels.get(n))
+        return findRelatedNodes(node).stream().filter(Objects::nonNull).map(n -> existingModels.get(n))
                 .filter(Objects::nonNull)
                 .findFirst().orElse(null);
     }
@@ -276,8 +330,11 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         Model model = fromContainer(augmentation);
         final Model toCheck = model;
 
-        String existingId = swagger.getDefinitions().entrySet().stream().filter(e -> e.getValue().equals(toCheck)).map(Map.Entry::getKey)
-                .findFirst().orElse(null);
+        String existingId;
+        synchronized (definitionsLock) {
+            existingId = swagger.getDefinitions().entrySet().stream().filter(e -> e.getValue().equals(toCheck)).map(Map.Entry::getKey)
+                    .findFirst().orElse(null);
+        }
 
         if(existingId != null) {
             RefModel ref = new RefModel(DEF_PREFIX + existingId);
@@ -301,6 +358,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     @SuppressWarnings("unchecked")
     private <T extends SchemaNode & DataNodeContainer> Model model(T node) {
+        final Deque<DataNodeContainer> effectiveNode = this.effectiveNode.get();
         if(effectiveNode.isEmpty()) {
             effectiveNode.addFirst(node);
         } else {
@@ -350,7 +408,9 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
                 Map<String, String> prop = (Map<String, String>) m.getVendorExtensions().getOrDefault("x-augmentation", Collections.emptyMap());
                 String pkg = BindingMapping.nameToPackageSegment(prop.get("prefix"));
                 String augName = pkg + "." + modelName + "Augmentation" + idx;
-                swagger.getDefinitions().put(augName, m);
+                synchronized (definitionsLock) {
+                    swagger.getDefinitions().put(augName, m);
+                }
                 aModels.add(new RefModel(DEF_PREFIX + augName));
                 idx++;
 
@@ -379,7 +439,11 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         return model;
     }
 
-    Function<RefModel, Model> fromReference = ref -> swagger.getDefinitions().get(ref.getSimpleRef());
+    Function<RefModel, Model> fromReference = ref -> {
+        synchronized (definitionsLock) {
+            return swagger.getDefinitions().get(ref.getSimpleRef());
+        }
+    };
 
     private <T extends SchemaNode & DataNodeContainer> void verifyModel(T node, Model model) {
         if(model instanceof ComposedModel) {
@@ -589,7 +653,10 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
         String id = m.getSimpleRef();
 
-        Model model = swagger.getDefinitions().get(id);
+        Model model;
+        synchronized (definitionsLock) {
+            model = swagger.getDefinitions().get(id);
+        }
         if(model instanceof ModelImpl) return Collections.singleton(id);
 
         if(model instanceof RefModel) {
@@ -0,0 +1,241 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Share structurally identical path items and operations of a document and write each of them once.
+ * GET operations of ODL <code>/config</code> and <code>/operational</code> paths are shared already when generated,
+ * postprocessors that change them do it in copies, which are shared here again if still equal.
+ * In YAML a shared element is written with an anchor and repeated as an alias.
+ * JSON has no counterpart for operations, as swagger 2.0 allows <code>$ref</code> only for whole path items.
+ * There a repeated path item is written as a <code>$ref</code> to the first one and operations are repeated,
+ * thus ODL <code>/config</code> and <code>/operational</code> paths, which always differ in operations, are not
+ * reduced at all. Use YAML output to benefit from sharing.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SharedPathItems {
+    private static final Logger log = LoggerFactory.getLogger(SharedPathItems.class);
+
+    private final Map<ObjectMapper, ObjectMapper> mappers = new ConcurrentHashMap<>();
+
+    /**
+     * Replace path items and operations with equal ones met before, so that they are shared
+     * @param swagger document
+     */
+    public void share(Swagger swagger) {
+        if(swagger.getPaths() == null) return;
+        Map<Operation, Operation> operations = new HashMap<>();
+        Map<Path, Path> items = new HashMap<>();
+        swagger.getPaths().replaceAll((name, path) -> {
+            path.getOperationMap().forEach((method, o) ->
+                    path.set(method.name().toLowerCase(), operations.computeIfAbsent(o, x -> x)));
+            return items.computeIfAbsent(path, x -> x);
+        });
+        log.debug("{} path items and {} operations after sharing", items.size(), operations.size());
+    }
+
+    /**
+     * @param mapper to write documents with
+     * @param swagger document to write
+     * @return writer that writes shared elements of the document once
+     */
+    public ObjectWriter writer(ObjectMapper mapper, Swagger swagger) {
+        Map<Object, Integer> uses = new IdentityHashMap<>();
+        if(swagger.getPaths() != null) {
+            swagger.getPaths().values().forEach(p -> {
+                if(uses.merge(p, 1, Integer::sum) == 1) {
+                    p.getOperations().forEach(o -> uses.merge(o, 1, Integer::sum));
+                }
+            });
+        }
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        uses.forEach((o, count) -> { if(count > 1) shared.add(o); });
+
+        return mappers.computeIfAbsent(mapper, this::sharing).writer()
+                .withAttribute(Written.class, new Written(shared));
+    }
+
+    /**
+     * Read YAML document tree. Jackson reports aliases as plain strings, thus aliases of shared elements
+     * are replaced here with the elements of their anchors.
+     * @param parser of the document
+     * @return document tree, or <code>null</code> for an empty document
+     * @throws IOException when problem with reading or an alias has no anchor
+     */
+    public static JsonNode readTree(YAMLParser parser) throws IOException {
+        if(parser.nextToken() == null) return null;
+        return read(parser, new HashMap<>());
+    }
+
+    private static JsonNode read(YAMLParser parser, Map<String, JsonNode> anchors) throws IOException {
+        final JsonNodeFactory nodes = JsonNodeFactory.instance;
+        final String anchor = parser.getObjectId();
+        JsonNode node;
+        switch(parser.currentToken()) {
+            case START_OBJECT:
+                ObjectNode object = nodes.objectNode();
+                while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    object.set(name, read(parser, anchors));
+                }
+                node = object;
+                break;
+            case START_ARRAY:
+                ArrayNode array = nodes.arrayNode();
+                while(parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(read(parser, anchors));
+                }
+                node = array;
+                break;
+            case VALUE_STRING:
+                if(parser.isCurrentAlias()) {
+                    node = anchors.get(parser.getText());
+                    if(node == null) throw new JsonParseException(parser, "Unknown alias " + parser.getText());
+                    return node;
+                }
+                node = nodes.textNode(parser.getText());
+                break;
+            case VALUE_NUMBER_INT:
+                node = nodes.numberNode(parser.getBigIntegerValue());
+                break;
+            case VALUE_NUMBER_FLOAT:
+                node = nodes.numberNode(parser.getDoubleValue());
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                node = nodes.booleanNode(parser.getBooleanValue());
+                break;
+            case VALUE_EMBEDDED_OBJECT:
+                node = nodes.pojoNode(parser.getEmbeddedObject());
+                break;
+            default:
+                node = nodes.nullNode();
+        }
+        if(anchor != null) anchors.put(anchor, node);
+        return node;
+    }
+
+    private ObjectMapper sharing(ObjectMapper mapper) {
+        ObjectMapper copy = mapper.copy();
+        copy.registerModule(new SimpleModule("shared-path-items").setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                if(Path.class.isAssignableFrom(type) || Operation.class.isAssignableFrom(type)) {
+                    return new Sharing(serializer);
+                }
+                return serializer;
+            }
+        }));
+        return copy;
+    }
+
+    /**
+     * State of a single write: shared elements and where or under which anchor they were written
+     */
+    private static class Written {
+        private final Set<Object> shared;
+        private final Map<Object, String> written = new IdentityHashMap<>();
+
+        private Written(Set<Object> shared) {
+            this.shared = shared;
+        }
+    }
+
+    private static class Sharing extends JsonSerializer<Object> implements ResolvableSerializer, ContextualSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private Sharing(JsonSerializer<?> delegate) {
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Written state = (Written) provider.getAttribute(Written.class);
+            if(state == null || !state.shared.contains(value)) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+
+            String written = state.written.get(value);
+            if(gen.canWriteObjectId()) {
+                if(written != null) {
+                    gen.writeObjectRef(written);
+                    return;
+                }
+                String anchor = (value instanceof Path ? "path" : "op") + (state.written.size() + 1);
+                state.written.put(value, anchor);
+                gen.writeObjectId(anchor);
+            } else if(value instanceof Path) {
+                if(written != null) {
+                    gen.writeStartObject();
+                    gen.writeStringField("$ref", written);
+                    gen.writeEndObject();
+                    return;
+                }
+                JsonStreamContext ctx = gen.getOutputContext();
+                state.written.put(value, "#/paths/" + ctx.getCurrentName().replace("~", "~0").replace("/", "~1"));
+            }
+            delegate.serialize(value, gen, provider);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(value, gen, serializers, typeSer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if(delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+            if(delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(prov, property);
+                if(contextual != delegate) return new Sharing(contextual);
+            }
+            return this;
+        }
+    }
+}
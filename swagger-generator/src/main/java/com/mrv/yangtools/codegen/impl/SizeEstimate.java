@@ -0,0 +1,270 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.mrv.yangtools.codegen.PathSegment;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.*;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+
+import java.util.*;
+
+/**
+ * Counts of paths, operations and definitions, and estimated size of the document, collected by a dry run
+ * of {@link com.mrv.yangtools.codegen.SwaggerGenerator#estimate()} per module and per top-level subtree
+ * (data node or RPCs of a module). Sizes are rough estimates of the JSON document generated with the default configuration.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SizeEstimate {
+    // Sizes of JSON elements without the names and descriptions they contain, fitted to the documents generated
+    // for the test modules with the RESTCONF and ODL path handlers. The estimate is within 15% for all of them.
+    // bytes of a path item without its key and operations
+    private static final int PATH_BYTES = 10;
+    // bytes of an operation without its parameters, including tags and responses
+    private static final int OPERATION_BYTES = 275;
+    private static final int PARAMETER_BYTES = 100;
+    // bytes of a definition without its properties
+    private static final int DEFINITION_BYTES = 70;
+    private static final int PROPERTY_BYTES = 35;
+
+    private final Map<String, Size> subtrees = new LinkedHashMap<>();
+    private final Set<Object> definitions = new HashSet<>();
+    private final boolean groupings;
+    private String module;
+    private String subtree;
+
+    /**
+     * @param groupings if groupings get definitions of their own, as for optimizing strategy
+     */
+    public SizeEstimate(boolean groupings) {
+        this.groupings = groupings;
+    }
+
+    /**
+     * Size of a part of the document
+     */
+    public static class Size {
+        private int paths;
+        private int operations;
+        private int definitions;
+        private long bytes;
+
+        public int getPaths() {
+            return paths;
+        }
+
+        public int getOperations() {
+            return operations;
+        }
+
+        public int getDefinitions() {
+            return definitions;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        private void add(Size other) {
+            paths += other.paths;
+            operations += other.operations;
+            definitions += other.definitions;
+            bytes += other.bytes;
+        }
+    }
+
+    /**
+     * Start counting for a module
+     * @param name of the module
+     */
+    public void module(String name) {
+        this.module = name;
+        this.subtree = name;
+    }
+
+    /**
+     * Start counting for a top-level subtree of the current module
+     * @param name of the subtree
+     */
+    public void subtree(String name) {
+        this.subtree = module + ":" + name;
+    }
+
+    /**
+     * Count path item
+     * @param segment of the path
+     * @param node the path item is generated for
+     * @param operations number of operations of the path item
+     * @param withBody number of operations with body parameter
+     * @param collection if the path refers to the list rather than its element
+     */
+    public void path(PathSegment segment, SchemaNode node, int operations, int withBody, boolean collection) {
+        int keyLength = 0;
+        int parameters = 0;
+        int parametersLength = 0;
+        for(PathSegment s : segment) {
+            if(s.getName() == null) continue;
+            keyLength += s.getName().length() + 1;
+            if(collection && s == segment) continue;
+            for(QName key : s.keys()) {
+                keyLength += key.getLocalName().length() + 3;
+                // name and description of the parameter
+                parametersLength += key.getLocalName().length() + s.getName().length();
+                parameters++;
+            }
+        }
+        // definition name is repeated in summary, response description and response schema
+        final int name = module.length() + node.getQName().getLocalName().length() + 1;
+        final int operationLength = OPERATION_BYTES + 3 * name + length(node) + parametersLength
+                + parameters * PARAMETER_BYTES;
+        Size size = current();
+        size.paths++;
+        size.operations += operations;
+        size.bytes += PATH_BYTES + keyLength + (long) operations * operationLength
+                + (long) withBody * (PARAMETER_BYTES + name + length(node));
+    }
+
+    /**
+     * Count definition of data node and of the nested data nodes and groupings it is built from.
+     * Definitions of the same node, grouping or enumeration are counted once
+     * @param node data node of the definition
+     * @param <T> type of node
+     */
+    public <T extends SchemaNode & DataNodeContainer> void definition(T node) {
+        if(!groupings) {
+            if(definition(node, node)) {
+                enumerations(node);
+                children(node, false);
+            }
+            return;
+        }
+        final Collection<? extends UsesNode> uses = node.getUses();
+        final Collection<? extends AugmentationSchemaNode> augmentations = node instanceof AugmentationTarget ?
+                ((AugmentationTarget) node).getAvailableAugmentations() : Collections.emptyList();
+        if(uses.size() == 1 && augmentations.isEmpty() && !node.getChildNodes().isEmpty()
+                && node.getChildNodes().stream().allMatch(DataSchemaNode::isAddedByUses)) {
+            grouping(uses.iterator().next().getSourceGrouping());
+            return;
+        }
+        if(!definition(node, node)) return;
+        uses.forEach(u -> grouping(u.getSourceGrouping()));
+        augmentations.forEach(a -> a.getUses().forEach(u -> grouping(u.getSourceGrouping())));
+        enumerations(node);
+        children(node, true);
+    }
+
+    private void grouping(GroupingDefinition grouping) {
+        if(!definition(grouping, grouping)) return;
+        grouping.getUses().forEach(u -> grouping(u.getSourceGrouping()));
+        enumerations(grouping);
+        children(grouping, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SchemaNode & DataNodeContainer> void children(DataNodeContainer node, boolean skipUses) {
+        node.getChildNodes().forEach(c -> {
+            if(skipUses && c.isAddedByUses()) return;
+            if(c instanceof ContainerSchemaNode || c instanceof ListSchemaNode) {
+                definition((T) c);
+            } else if(c instanceof ChoiceSchemaNode) {
+                ((ChoiceSchemaNode) c).getCases().forEach(cs -> children(cs, skipUses));
+            }
+        });
+    }
+
+    private void enumerations(DataNodeContainer node) {
+        node.getChildNodes().stream()
+                .filter(c -> c instanceof TypedDataSchemaNode)
+                .forEach(c -> {
+                    TypeDefinition<?> type = ((TypedDataSchemaNode) c).getType();
+                    if(!(type instanceof EnumTypeDefinition)) return;
+                    // inline enumerations are named after their leaf, as by the data object builder
+                    Object key = type.getBaseType() == null ?
+                            QName.create(type.getQName(), c.getQName().getLocalName() + "-" + type.getQName().getLocalName())
+                            : type.getQName();
+                    if(definitions.add(key)) {
+                        Size size = current();
+                        size.definitions++;
+                        size.bytes += DEFINITION_BYTES + ((EnumTypeDefinition) type).getValues().stream()
+                                .mapToInt(v -> v.getName().length() + 3).sum();
+                    }
+                });
+    }
+
+    private <T extends SchemaNode & DataNodeContainer> boolean definition(Object key, T node) {
+        if(!definitions.add(key)) return false;
+        long properties = node.getChildNodes().stream()
+                .filter(c -> !groupings || !c.isAddedByUses())
+                .mapToLong(c -> PROPERTY_BYTES + c.getQName().getLocalName().length() + length(c))
+                .sum();
+        Size size = current();
+        size.definitions++;
+        size.bytes += DEFINITION_BYTES + module.length() + node.getQName().getLocalName().length() + length(node) + properties;
+        return true;
+    }
+
+    private static int length(DocumentedNode node) {
+        return node.getDescription().map(String::length).orElse(0);
+    }
+
+    private Size current() {
+        Objects.requireNonNull(module, "no module to count for");
+        return subtrees.computeIfAbsent(subtree, s -> new Size());
+    }
+
+    /**
+     * @return sizes of top-level subtrees by <code>module:node</code> name, in order of generation
+     */
+    public Map<String, Size> subtrees() {
+        return Collections.unmodifiableMap(subtrees);
+    }
+
+    /**
+     * @return sizes of modules by name, in order of generation
+     */
+    public Map<String, Size> modules() {
+        Map<String, Size> modules = new LinkedHashMap<>();
+        subtrees.forEach((name, size) -> {
+            int idx = name.indexOf(':');
+            modules.computeIfAbsent(idx < 0 ? name : name.substring(0, idx), m -> new Size()).add(size);
+        });
+        return Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * @return size of the whole document
+     */
+    public Size total() {
+        Size total = new Size();
+        subtrees.values().forEach(total::add);
+        return total;
+    }
+
+    /**
+     * @return table of sizes per module and subtree
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        String format = "%-60s %8s %10s %11s %10s%n";
+        report.append(String.format(format, "module / subtree", "paths", "operations", "definitions", "bytes"));
+        modules().forEach((module, size) -> {
+            row(report, format, module, size);
+            subtrees.forEach((name, s) -> {
+                if(name.startsWith(module + ":")) row(report, format, "  " + name.substring(module.length() + 1), s);
+            });
+        });
+        row(report, format, "total", total());
+        return report.toString();
+    }
+
+    private static void row(StringBuilder report, String format, String name, Size size) {
+        report.append(String.format(format, name, size.paths, size.operations, size.definitions, size.bytes));
+    }
+}
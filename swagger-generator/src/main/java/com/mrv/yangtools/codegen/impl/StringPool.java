@@ -0,0 +1,51 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of identifiers and texts emitted during a single generation, e.g. definition references,
+ * property names and operation summaries. Equal strings built over and over for different nodes
+ * are replaced with a single instance, so that a large document keeps only one copy of each.
+ * Unlike {@link String#intern()} the pool is released together with the generator.
+ * @author bartosz.michalik@amartus.com
+ */
+public class StringPool {
+    /**
+     * Pool that keeps nothing, for builders that do not share strings
+     */
+    public static final StringPool NONE = new StringPool() {
+        @Override
+        public String get(String value) {
+            return value;
+        }
+    };
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    /**
+     * @param value string to pool
+     * @return pooled string equal to <code>value</code> or <code>null</code>
+     */
+    public String get(String value) {
+        if(value == null) return null;
+        String pooled = strings.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    /**
+     * @return number of distinct strings in the pool
+     */
+    public int size() {
+        return strings.size();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deep copy of swagger document. Swagger model objects and collections are copied field by field,
+ * so that unlike JSON round trip nothing is lost or normalized. Objects shared in the original document
+ * (e.g. child of composed model being also part of its all-of list) are shared in the copy as well.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SwaggerCopier {
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private SwaggerCopier() {}
+
+    /**
+     * @param swagger to copy
+     * @return copy of the document
+     */
+    public static Swagger copy(Swagger swagger) {
+        SwaggerCopier copier = new SwaggerCopier();
+        Swagger copy = new Swagger();
+        copier.copies.put(swagger, copy);
+        //subclasses of swagger are copied as swagger
+        copier.copyFields(swagger, copy, Swagger.class);
+        return copy;
+    }
+
+    /**
+     * @param object part of swagger document, e.g. a model or path
+     * @param <T> type of the object
+     * @return deep copy of the object
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copyOf(T object) {
+        return (T) new SwaggerCopier().copy(object);
+    }
+
+    /**
+     * Copy of a single object to be changed instead of the original, e.g. a property shared by several models.
+     * @param object swagger model object
+     * @param <T> type of the object
+     * @return copy of the object that shares all field values with the original
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T shallowCopyOf(T object) {
+        if(object == null) return null;
+        Object copy = instantiate(object.getClass());
+        setFields(object, copy, object.getClass(), v -> v);
+        return (T) copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copy(Object o) {
+        if(o == null || isImmutable(o)) return o;
+        Object copy = copies.get(o);
+        if(copy != null) return copy;
+
+        if(o instanceof JsonNode) {
+            copy = ((JsonNode) o).deepCopy();
+            copies.put(o, copy);
+            return copy;
+        }
+
+        boolean model = o.getClass().getName().startsWith("io.swagger.models.");
+        if(model) {
+            copy = instantiate(o.getClass());
+        } else if(o instanceof SortedMap) {
+            copy = new TreeMap<>(((SortedMap<Object, Object>) o).comparator());
+        } else if(o instanceof Map) {
+            copy = new LinkedHashMap<>();
+        } else if(o instanceof SortedSet) {
+            copy = new TreeSet<>(((SortedSet<Object>) o).comparator());
+        } else if(o instanceof Set) {
+            copy = new LinkedHashSet<>();
+        } else if(o instanceof List) {
+            copy = new ArrayList<>();
+        } else if(o.getClass().isArray()) {
+            copy = Array.newInstance(o.getClass().getComponentType(), Array.getLength(o));
+        } else {
+            //unknown objects are shared
+            return o;
+        }
+        copies.put(o, copy);
+
+        if(o instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) copy;
+            ((Map<?, ?>) o).forEach((k, v) -> map.put(copy(k), copy(v)));
+        } else if(o instanceof Collection) {
+            Collection<Object> collection = (Collection<Object>) copy;
+            ((Collection<?>) o).forEach(e -> collection.add(copy(e)));
+        } else if(o.getClass().isArray()) {
+            for(int i = 0; i < Array.getLength(o); i++) {
+                Array.set(copy, i, copy(Array.get(o, i)));
+            }
+        }
+        if(model) {
+            copyFields(o, copy, o.getClass());
+        }
+        return copy;
+    }
+
+    private void copyFields(Object from, Object to, Class<?> type) {
+        setFields(from, to, type, this::copy);
+    }
+
+    private static void setFields(Object from, Object to, Class<?> type, UnaryOperator<Object> value) {
+        //fields of collections swagger models extend are populated through their API
+        for(Class<?> c = type; c != null && !c.getName().startsWith("java."); c = c.getSuperclass()) {
+            for(Field f : c.getDeclaredFields()) {
+                if(Modifier.isStatic(f.getModifiers())) continue;
+                try {
+                    f.setAccessible(true);
+                    f.set(to, value.apply(f.get(from)));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot copy " + f, e);
+                }
+            }
+        }
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            var constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot copy " + type.getName(), e);
+        }
+    }
+
+    private static boolean isImmutable(Object o) {
+        return o instanceof String || o instanceof Number || o instanceof Boolean || o instanceof Character || o instanceof Enum;
+    }
+}
@@ -22,9 +22,7 @@ import org.opendaylight.yangtools.yang.model.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Used to convert YANG data nodes to Swagger models. The generator strategy is to unpack
@@ -37,6 +35,12 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
     private static final Logger log = LoggerFactory.getLogger(UnpackingDataObjectsBuilder.class);
 
     private Set<String> built;
+    private final Map<DataNodeContainer, Structure> structures = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final ThreadLocal<Deque<Structure>> inlining = ThreadLocal.withInitial(ArrayDeque::new);
+    //positions of models in the announced build order: first to decide if a model is built, last to build it at
+    private volatile Map<String, Integer> firstBuilt = Collections.emptyMap();
+    private volatile Map<String, Integer> lastBuilt = Collections.emptyMap();
+    private final ThreadLocal<Integer> building = new ThreadLocal<>();
 
     /**
      * @param ctx YANG modules context
@@ -46,7 +50,7 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
         super(ctx, swagger, converter);
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(swagger);
-        built = new HashSet<>();
+        built = Collections.synchronizedSet(new HashSet<>());
     }
 
     /**
@@ -58,12 +62,45 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
     public <T extends SchemaNode & DataNodeContainer> Model build(T node) {
         final ModelImpl model = new ModelImpl();
         model.description(desc(node));
-        model.setProperties(structure(node));
+        building.set(lastBuilt.get(getName(node)));
+        try {
+            model.setProperties(memoized(node).properties);
+        } finally {
+            building.remove();
+        }
 
         built.add(getName(node));
 
         return model;
     }
+
+    /**
+     * Nodes are inlined in models built before their own model and referenced in the ones built after it.
+     * With announced order that is decided from positions of the models in the order,
+     * so that the result does not depend on the actual order of concurrent builds.
+     * @param names of models in the order they would be built sequentially
+     */
+    @Override
+    public void buildOrder(List<String> names) {
+        Map<String, Integer> first = new HashMap<>();
+        Map<String, Integer> last = new HashMap<>();
+        for(int i = 0; i < names.size(); i++) {
+            first.putIfAbsent(names.get(i), i);
+            last.put(names.get(i), i);
+        }
+        firstBuilt = first;
+        lastBuilt = last;
+    }
+
+    private boolean isBuilt(String name) {
+        Integer current = building.get();
+        Integer position = firstBuilt.get(name);
+        if(current == null || position == null) {
+            return built.contains(name);
+        }
+        return position < current;
+    }
+
     /**
      * Get name for data node. Prerequisite is to have node's module traversed {@link UnpackingDataObjectsBuilder#processModule(Module)}}.
      * @param node node
@@ -75,17 +112,59 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
     }
 
     protected <T extends DataSchemaNode & DataNodeContainer> Property refOrStructure(T node) {
-        final boolean useReference = built.contains(getName(node));
+        final boolean useReference = isBuilt(getName(node));
+        final Structure parent = inlining.get().peek();
         Property prop;
         if(useReference) {
             final String definitionRef = getDefinitionRef(node);
             log.debug("reference to {}", definitionRef);
+            if(parent != null) {
+                parent.referenced.add(getName(node));
+            }
             prop = new RefProperty(definitionRef);
         } else {
             log.debug("submodel for {}", getName(node));
-            prop = new ObjectProperty(structure(node, x -> true, x -> true));
+            Structure structure = memoized(node);
+            if(parent != null) {
+                parent.inlined.add(getName(node));
+                parent.inlined.addAll(structure.inlined);
+                parent.referenced.addAll(structure.referenced);
+            }
+            prop = new ObjectProperty(structure.properties);
         }
         return prop;
     }
 
+    /**
+     * Compute structure of the node once and share it between all places the node is inlined.
+     * Shared maps are unmodifiable and post-processors replace the properties they change with copies.
+     * The structure is recomputed only if any of the nodes inlined in it got its own model since then,
+     * as these have to be referenced instead, or for a model built earlier in the announced build order.
+     * @param node to unpack
+     * @return properties of node with names of nodes inlined in them and referenced from them
+     */
+    private Structure memoized(DataNodeContainer node) {
+        Structure structure = structures.get(node);
+        if(structure != null && structure.inlined.stream().noneMatch(this::isBuilt)
+                && structure.referenced.stream().allMatch(this::isBuilt)) {
+            return structure;
+        }
+        Deque<Structure> inlining = this.inlining.get();
+        structure = new Structure();
+        inlining.push(structure);
+        try {
+            structure.properties = Collections.unmodifiableMap(structure(node));
+        } finally {
+            inlining.pop();
+        }
+        structures.put(node, structure);
+        return structure;
+    }
+
+    private static class Structure {
+        private Map<String, Property> properties;
+        private final Set<String> inlined = new HashSet<>();
+        private final Set<String> referenced = new HashSet<>();
+    }
+
 }
@@ -33,8 +33,23 @@ public abstract class AbstractPathHandler implements PathHandler {
     protected final DataObjectBuilder dataObjectBuilder;
     protected final Set<TagGenerator> tagGenerators;
     protected final  boolean fullCrud;
+    protected final OperationComponents components;
+    protected final PathOperations pathOperations;
 
     protected AbstractPathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud) {
+        this(ctx, modules, target, objBuilder, generators, fullCrud, new OperationComponents());
+    }
+
+    protected AbstractPathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud, OperationComponents components) {
+        this(ctx, modules, target, objBuilder, generators, new PathOperations(fullCrud, false), components);
+    }
+
+    /**
+     * @param pathOperations operations generated for data nodes
+     */
+    protected AbstractPathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, PathOperations pathOperations, OperationComponents components) {
+        Objects.requireNonNull(pathOperations);
+        Objects.requireNonNull(components);
         this.swagger = target;
         this.ctx = ctx;
         this.module = modules;
@@ -42,7 +57,9 @@ public abstract class AbstractPathHandler implements PathHandler {
         operations = "/operations/";
         this.dataObjectBuilder = objBuilder;
         this.tagGenerators = generators;
-        this.fullCrud = fullCrud;
+        this.fullCrud = pathOperations.fullCrud();
+        this.components = components;
+        this.pathOperations = pathOperations;
 
         this.useModuleName = false;
     }
@@ -65,17 +82,18 @@ public abstract class AbstractPathHandler implements PathHandler {
 
         Operation post = defaultOperation(pathCtx);
 
-        post.tag(module.getName());
+        post.setTags(components.tags(Collections.singletonList(module.getName())));
         if(input != null) {
             dataObjectBuilder.addModel(input);
 
             ModelImpl inputModel = new ModelImpl().type(ModelImpl.OBJECT);
             inputModel.addProperty("input", new RefProperty(dataObjectBuilder.getDefinitionRef(input)));
 
-            post.summary("operates on " + dataObjectBuilder.getName(root));
-            post.description("operates on " + dataObjectBuilder.getName(root));
-            post.parameter(new BodyParameter()
-                    .name(dataObjectBuilder.getName(input) + ".body-param")
+            final String summary = components.text("operates on " + dataObjectBuilder.getName(root));
+            post.summary(summary);
+            post.description(summary);
+            components.body(post, new BodyParameter()
+                    .name(components.text(dataObjectBuilder.getName(input) + ".body-param"))
                     .schema(inputModel)
                     .description(input.getDescription().orElse(null))
             );
@@ -86,30 +104,44 @@ public abstract class AbstractPathHandler implements PathHandler {
             model.addProperty("output", new RefProperty(dataObjectBuilder.getDefinitionRef(output)));
 
             dataObjectBuilder.addModel(output);
-            post.response(200, new Response()
+            post.addResponse("200", new Response()
                     .responseSchema(model)
                     .description(output.getDescription().orElse("Correct response")));
         }
-        post.response(201, new Response().description("No response")); //no output body
+        post.addResponse("201", components.response("No response")); //no output body
         swagger.path(operations + printer.path(), new Path().post(post));
     }
 
     protected abstract PathPrinter getPrinter(PathSegment pathCtx);
 
+    protected Path operations(DataSchemaNode node, PathSegment pathCtx) {
+        return operations(node, pathCtx, tags(pathCtx));
+    }
 
-    protected abstract boolean generateModifyOperations(PathSegment pathCtx);
+    protected Path operations(DataSchemaNode node, PathSegment pathCtx, List<String> tags) {
+        return operations(node, pathCtx, tags, new GetOperationGenerator(pathCtx, dataObjectBuilder, components).execute(node).tags(components.tags(tags)));
+    }
 
-    protected Path operations(DataSchemaNode node, PathSegment pathCtx) {
+    /**
+     * @param node to generate operations for
+     * @param pathCtx path of the node
+     * @param tags of the operations
+     * @param get operation to use as GET, e.g. shared with another path item
+     * @return path item
+     */
+    protected Path operations(DataSchemaNode node, PathSegment pathCtx, List<String> tags, Operation get) {
         final Path path = new Path();
-        List<String> tags = tags(pathCtx);
-
-        path.get(new GetOperationGenerator(pathCtx, dataObjectBuilder).execute(node).tags(tags));
-        if(generateModifyOperations(pathCtx)) {
-            path.put(new PutOperationGenerator(pathCtx, dataObjectBuilder).execute(node).tags(tags));
-            if(!pathCtx.forList()) {
-                path.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, false).execute(node).tags(tags));
-            }
-            path.delete(new DeleteOperationGenerator(pathCtx, dataObjectBuilder).execute(node).tags(tags));
+
+        final Set<HttpMethod> methods = pathOperations.data(pathCtx);
+        path.get(get);
+        if(methods.contains(HttpMethod.PUT)) {
+            path.put(new PutOperationGenerator(pathCtx, dataObjectBuilder, components).execute(node).tags(components.tags(tags)));
+        }
+        if(methods.contains(HttpMethod.POST)) {
+            path.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, components, false).execute(node).tags(components.tags(tags)));
+        }
+        if(methods.contains(HttpMethod.DELETE)) {
+            path.delete(new DeleteOperationGenerator(pathCtx, dataObjectBuilder, components).execute(node).tags(components.tags(tags)));
         }
 
         return path;
@@ -117,8 +149,8 @@ public abstract class AbstractPathHandler implements PathHandler {
 
     private Operation defaultOperation(PathSegment pathCtx) {
         final Operation operation = new Operation();
-        operation.response(400, new Response().description("Internal error"));
-        operation.setParameters(pathCtx.params());
+        operation.addResponse("400", components.response("Internal error"));
+        operation.setParameters(components.parameters(pathCtx.sharedParams()));
         return operation;
     }
 
@@ -9,10 +9,13 @@
 package com.mrv.yangtools.codegen.impl.path;
 
 import com.mrv.yangtools.codegen.DataObjectBuilder;
+import com.mrv.yangtools.codegen.PathHandler;
 import com.mrv.yangtools.codegen.PathHandlerBuilder;
 import com.mrv.yangtools.codegen.TagGenerator;
+import com.mrv.yangtools.codegen.impl.SizeEstimate;
 import io.swagger.models.Swagger;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
 
 import java.util.*;
 
@@ -26,6 +29,8 @@ public abstract class AbstractPathHandlerBuilder implements PathHandlerBuilder {
     protected Set<TagGenerator> tagGenerators = new HashSet<>();
     protected boolean useModuleName;
     protected boolean fullCrud = true;
+    protected boolean componentReferences;
+    protected OperationComponents components;
 
     @Override
     public void configure(EffectiveModelContext ctx, Swagger target, DataObjectBuilder builder) {
@@ -35,6 +40,29 @@ public abstract class AbstractPathHandlerBuilder implements PathHandlerBuilder {
         objBuilder = builder;
         this.ctx = ctx;
         this.target = target;
+        this.components = componentReferences ? new ReferencingOperationComponents(target, builder.strings())
+                : new OperationComponents(builder.strings());
+    }
+
+    @Override
+    public PathHandler forEstimate(Module module, SizeEstimate estimate) {
+        Objects.requireNonNull(module);
+        Objects.requireNonNull(estimate);
+        return new EstimatingPathHandler(estimate, pathOperations());
+    }
+
+    /**
+     * @return operations generated for data nodes by handlers of this builder
+     */
+    protected PathOperations pathOperations() {
+        return new PathOperations(fullCrud, operationalPaths());
+    }
+
+    /**
+     * @return if handlers generate read-only paths separately from configuration paths
+     */
+    protected boolean operationalPaths() {
+        return false;
     }
 
     @Override
@@ -60,4 +88,15 @@ public abstract class AbstractPathHandlerBuilder implements PathHandlerBuilder {
         fullCrud = false;
         return thiz();
     }
+
+    /**
+     * Define path parameters and standard responses once in top level <code>parameters</code> and <code>responses</code>
+     * and refer to them from operations.
+     * @param <T> type of builder
+     * @return this
+     */
+    public <T extends AbstractPathHandlerBuilder> T useComponentReferences() {
+        componentReferences = true;
+        return thiz();
+    }
 }
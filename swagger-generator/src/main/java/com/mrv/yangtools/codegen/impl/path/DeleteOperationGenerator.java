@@ -13,7 +13,6 @@ package com.mrv.yangtools.codegen.impl.path;
 import com.mrv.yangtools.codegen.DataObjectRepo;
 import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.Operation;
-import io.swagger.models.Response;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 
 /**
@@ -25,13 +24,17 @@ public class DeleteOperationGenerator extends OperationGenerator {
         super(path, repo);
     }
 
+    public DeleteOperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components) {
+        super(path, repo, components);
+    }
+
     @Override
     public Operation execute(DataSchemaNode node) {
         final Operation delete = defaultOperation();
-        delete.summary("removes " + getName(node));
-        String description = node.getDescription().orElse("removes " + getName(node));
-        delete.description(description);
-        delete.response(204, new Response().description("Object deleted"));
+        final String summary = components.text("removes " + getName(node));
+        delete.summary(summary);
+        delete.description(node.getDescription().orElse(summary));
+        delete.addResponse("204", components.response("Object deleted"));
         return delete;
     }
 }
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *    Contributors:
+ *       Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.path;
+
+import com.mrv.yangtools.codegen.PathHandler;
+import com.mrv.yangtools.codegen.PathSegment;
+import com.mrv.yangtools.codegen.impl.SizeEstimate;
+import io.swagger.models.HttpMethod;
+import org.opendaylight.yangtools.yang.model.api.*;
+
+import java.util.Set;
+
+/**
+ * Path handler for dry runs that counts path items and operations the configured handler would generate,
+ * without generating them.
+ * @author bartosz.michalik@amartus.com
+ */
+public class EstimatingPathHandler implements PathHandler {
+    private final SizeEstimate estimate;
+    private final PathOperations operations;
+
+    /**
+     * @param estimate to count in
+     * @param fullCrud if modify operations are generated
+     * @param operationalPaths if read-only paths are generated separately, as for ODL <code>/operational</code>
+     */
+    public EstimatingPathHandler(SizeEstimate estimate, boolean fullCrud, boolean operationalPaths) {
+        this(estimate, new PathOperations(fullCrud, operationalPaths));
+    }
+
+    /**
+     * @param estimate to count in
+     * @param operations decision of the handler whose paths are counted
+     */
+    public EstimatingPathHandler(SizeEstimate estimate, PathOperations operations) {
+        this.estimate = estimate;
+        this.operations = operations;
+    }
+
+    @Override
+    public void path(ContainerSchemaNode node, PathSegment path) {
+        data(node, path);
+    }
+
+    @Override
+    public void path(ListSchemaNode node, PathSegment path) {
+        data(node, path);
+        count(node, path, operations.list(path), true);
+    }
+
+    @Override
+    public void path(RpcDefinition rpc, PathSegment path) {
+        if(!rpc.getInput().getChildNodes().isEmpty()) {
+            estimate.definition(rpc.getInput());
+        }
+        if(!rpc.getOutput().getChildNodes().isEmpty()) {
+            estimate.definition(rpc.getOutput());
+        }
+        estimate.path(path, rpc, 1, rpc.getInput().getChildNodes().isEmpty() ? 0 : 1, false);
+    }
+
+    private void data(DataSchemaNode node, PathSegment path) {
+        count(node, path, operations.operational(path), false);
+        count(node, path, operations.data(path), false);
+    }
+
+    private void count(DataSchemaNode node, PathSegment path, Set<HttpMethod> methods, boolean collection) {
+        if(!methods.isEmpty()) {
+            estimate.path(path, node, methods.size(), PathOperations.withBody(methods), collection);
+        }
+    }
+}
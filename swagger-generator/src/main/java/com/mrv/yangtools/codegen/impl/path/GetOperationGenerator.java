@@ -26,13 +26,17 @@ public class GetOperationGenerator extends OperationGenerator {
         super(path, repo);
     }
 
+    public GetOperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components) {
+        super(path, repo, components);
+    }
+
     @Override
     public Operation execute(DataSchemaNode node) {
         final Operation get = defaultOperation();
-        get.summary("returns " + getName(node));
-        String description = node.getDescription().orElse("returns " + getName(node));
-        get.description(description);
-        get.response(200, new Response()
+        final String summary = components.text("returns " + getName(node));
+        get.summary(summary);
+        get.description(node.getDescription().orElse(summary));
+        get.addResponse("200", new Response()
                 .schema(new RefProperty(getDefinitionRef(node)))
                 .description(getName(node)));
         return get;
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *    Contributors:
+ *       Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.path;
+
+import com.mrv.yangtools.codegen.impl.StringPool;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+
+import java.util.*;
+
+/**
+ * Source of the operation parts that repeat across all paths, i.e. schema-less responses,
+ * path parameters, tags and texts.
+ * Equal components are created only once per generation and shared by all operations that use them,
+ * so they must not be modified. Each operation gets its own lists of them, which can be changed freely.
+ * @author bartosz.michalik@amartus.com
+ */
+public class OperationComponents {
+    private final Map<String, Response> responses = new HashMap<>();
+    private final StringPool strings;
+
+    public OperationComponents() {
+        this(new StringPool());
+    }
+
+    /**
+     * @param strings pool for texts of operations, usually shared with the data object builder
+     */
+    public OperationComponents(StringPool strings) {
+        Objects.requireNonNull(strings);
+        this.strings = strings;
+    }
+
+    /**
+     * Response without a body
+     * @param description of response
+     * @return shared response
+     */
+    public Response response(String description) {
+        return responses.computeIfAbsent(description, d -> new Response().description(d));
+    }
+
+    /**
+     * Path parameters for the operation
+     * @param params parameters of the path, as provided by {@link com.mrv.yangtools.codegen.PathSegment#sharedParams()}
+     * @return new list of the shared parameters
+     */
+    public List<Parameter> parameters(List<Parameter> params) {
+        return new ArrayList<>(params);
+    }
+
+    /**
+     * Add body parameter to the operation
+     * @param operation to update
+     * @param body parameter
+     */
+    public void body(Operation operation, BodyParameter body) {
+        operation.addParameter(body);
+    }
+
+    /**
+     * Tags for the operation
+     * @param tagList list of tags
+     * @return new list of pooled tags equal to <code>tagList</code>
+     */
+    public List<String> tags(List<String> tagList) {
+        final List<String> result = new ArrayList<>(tagList.size());
+        tagList.forEach(t -> result.add(strings.get(t)));
+        return result;
+    }
+
+    /**
+     * Text of the operation, e.g. summary or description
+     * @param text to share
+     * @return pooled text equal to <code>text</code>
+     */
+    public String text(String text) {
+        return strings.get(text);
+    }
+}
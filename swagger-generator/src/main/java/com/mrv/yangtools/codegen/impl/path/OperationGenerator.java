@@ -14,11 +14,13 @@ package com.mrv.yangtools.codegen.impl.path;
 import com.mrv.yangtools.codegen.DataObjectRepo;
 import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.Operation;
-import io.swagger.models.Response;
+import io.swagger.models.parameters.BodyParameter;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 
+import java.util.Objects;
+
 /**
  * Simple command that generates operation
  * @author cmurch@mrv.com
@@ -28,12 +30,19 @@ public abstract class OperationGenerator<T extends SchemaNode & DataNodeContaine
 
     protected final PathSegment path;
     private final DataObjectRepo repo;
+    protected final OperationComponents components;
 
     protected OperationGenerator(PathSegment path, DataObjectRepo repo) {
-        java.util.Objects.requireNonNull(path);
-        java.util.Objects.requireNonNull(repo);
+        this(path, repo, new OperationComponents());
+    }
+
+    protected OperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(repo);
+        Objects.requireNonNull(components);
         this.path = path;
         this.repo = repo;
+        this.components = components;
     }
 
     /**
@@ -59,8 +68,18 @@ public abstract class OperationGenerator<T extends SchemaNode & DataNodeContaine
      */
     protected Operation defaultOperation() {
         final Operation operation = new io.swagger.models.Operation();
-        operation.response(400, new Response().description("Internal error"));
-        operation.setParameters(path.params());
+        operation.addResponse("400", components.response("Internal error"));
+        operation.setParameters(components.parameters(path.sharedParams()));
         return operation;
     }
+
+    /**
+     * Add body parameter to the operation
+     * @param operation to update
+     * @param body parameter
+     * @see OperationComponents#body(Operation, BodyParameter)
+     */
+    protected void body(Operation operation, BodyParameter body) {
+        components.body(operation, body);
+    }
 }
@@ -26,22 +26,26 @@ public class PatchOperationGenerator extends OperationGenerator {
         super(path, repo);
     }
 
+    public PatchOperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components) {
+        super(path, repo, components);
+    }
+
     @Override
     public Operation execute(DataSchemaNode node) {
         final Operation patch = defaultOperation();
         final RefModel definition = new RefModel(getDefinitionRef(node));
-        patch.summary("patches " + getName(node));
-        String description = node.getDescription().orElse("patches " + getName(node));
-        patch.description(description);
-        patch.parameter(new BodyParameter()
-                .name(getName(node) + ".body-param")
+        final String summary = components.text("patches " + getName(node));
+        patch.summary(summary);
+        patch.description(node.getDescription().orElse(summary));
+        body(patch, new BodyParameter()
+                .name(components.text(getName(node) + ".body-param"))
                 .schema(definition)
-                .description(getName(node) + " to be added or updated"));
+                .description(components.text(getName(node) + " to be added or updated")));
 
-        patch.response(200, new Response()
+        patch.addResponse("200", new Response()
                 .schema(new RefProperty(getDefinitionRef(node)))
                 .description(getName(node)));
-        patch.response(204, new Response().description("Operation successful"));
+        patch.addResponse("204", components.response("Operation successful"));
         return patch;
     }
 }
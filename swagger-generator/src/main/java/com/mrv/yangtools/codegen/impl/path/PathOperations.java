@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *    Contributors:
+ *       Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.path;
+
+import com.mrv.yangtools.codegen.PathSegment;
+import io.swagger.models.HttpMethod;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Operations of the path items generated for a data node. Path handlers generate the operations decided here
+ * and {@link EstimatingPathHandler} counts them, so the dry run follows the handler configuration.
+ * @author bartosz.michalik@amartus.com
+ */
+public class PathOperations {
+    private final boolean fullCrud;
+    private final boolean operationalPaths;
+
+    /**
+     * @param fullCrud if modify operations are generated
+     * @param operationalPaths if read-only paths are generated separately, as for ODL <code>/operational</code>
+     */
+    public PathOperations(boolean fullCrud, boolean operationalPaths) {
+        this.fullCrud = fullCrud;
+        this.operationalPaths = operationalPaths;
+    }
+
+    /**
+     * @param pathCtx path of the data node
+     * @return operations of the separate read-only path item, empty if there is no such item
+     */
+    public Set<HttpMethod> operational(PathSegment pathCtx) {
+        return operationalPaths ? EnumSet.of(HttpMethod.GET) : Collections.emptySet();
+    }
+
+    /**
+     * @param pathCtx path of the data node
+     * @return operations of the data path item, empty if there is no such item
+     */
+    public Set<HttpMethod> data(PathSegment pathCtx) {
+        if(operationalPaths && pathCtx.isReadOnly()) {
+            return Collections.emptySet();
+        }
+        Set<HttpMethod> result = EnumSet.of(HttpMethod.GET);
+        if(modify(pathCtx)) {
+            result.add(HttpMethod.PUT);
+            if(!pathCtx.forList()) {
+                result.add(HttpMethod.POST);
+            }
+            result.add(HttpMethod.DELETE);
+        }
+        return result;
+    }
+
+    /**
+     * @param pathCtx path of the list node
+     * @return operations of the path item that refers to the list rather than its element, empty if there is no such item
+     */
+    public Set<HttpMethod> list(PathSegment pathCtx) {
+        return modify(pathCtx) ? EnumSet.of(HttpMethod.POST) : Collections.emptySet();
+    }
+
+    /**
+     * @param methods of the operations
+     * @return number of the operations with body parameter
+     */
+    public static int withBody(Set<HttpMethod> methods) {
+        return (int) methods.stream().filter(m -> m == HttpMethod.PUT || m == HttpMethod.POST).count();
+    }
+
+    boolean fullCrud() {
+        return fullCrud;
+    }
+
+    private boolean modify(PathSegment pathCtx) {
+        return fullCrud && !pathCtx.isReadOnly();
+    }
+}
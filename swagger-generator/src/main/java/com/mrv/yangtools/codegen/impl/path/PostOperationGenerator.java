@@ -15,7 +15,6 @@ import com.mrv.yangtools.codegen.DataObjectRepo;
 import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.Operation;
 import io.swagger.models.RefModel;
-import io.swagger.models.Response;
 import io.swagger.models.parameters.BodyParameter;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 
@@ -31,26 +30,31 @@ public class PostOperationGenerator extends OperationGenerator {
         this.dropLastSegmentParameters = dropLastSegmentParameters;
     }
 
+    public PostOperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components, boolean dropLastSegmentParameters) {
+        super(path, repo, components);
+        this.dropLastSegmentParameters = dropLastSegmentParameters;
+    }
+
     @Override
     public Operation execute(DataSchemaNode node) {
         final Operation post = dropLastSegmentParameters ? listOperation() : defaultOperation();
         final RefModel definition = new RefModel(getDefinitionRef(node));
-        post.summary("creates " + getName(node));
-        String description = node.getDescription().orElse("creates " + getName(node));
-        post.description(description);
-        post.parameter(new BodyParameter()
-                .name(getName(node) + ".body-param")
+        final String summary = components.text("creates " + getName(node));
+        post.summary(summary);
+        post.description(node.getDescription().orElse(summary));
+        body(post, new BodyParameter()
+                .name(components.text(getName(node) + ".body-param"))
                 .schema(definition)
-                .description(getName(node) + " to be added to list"));
+                .description(components.text(getName(node) + " to be added to list")));
 
-        post.response(201, new Response().description("Object created"));
-        post.response(409, new Response().description("Object already exists"));
+        post.addResponse("201", components.response("Object created"));
+        post.addResponse("409", components.response("Object already exists"));
         return post;
     }
 
     private Operation listOperation() {
         Operation listOper = defaultOperation();
-        listOper.setParameters(path.listParams());
+        listOper.setParameters(components.parameters(path.sharedListParams()));
         return listOper;
     }
 }
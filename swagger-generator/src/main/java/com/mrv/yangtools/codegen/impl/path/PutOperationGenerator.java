@@ -15,7 +15,6 @@ import com.mrv.yangtools.codegen.DataObjectRepo;
 import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.Operation;
 import io.swagger.models.RefModel;
-import io.swagger.models.Response;
 import io.swagger.models.parameters.BodyParameter;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 
@@ -28,20 +27,24 @@ public class PutOperationGenerator extends OperationGenerator {
         super(path, repo);
     }
 
+    public PutOperationGenerator(PathSegment path, DataObjectRepo repo, OperationComponents components) {
+        super(path, repo, components);
+    }
+
     @Override
     public Operation execute(DataSchemaNode node) {
         final Operation put = defaultOperation();
         final RefModel definition = new RefModel(getDefinitionRef(node));
-        put.summary("creates or updates " + getName(node));
-        String description = node.getDescription().orElse("creates or updates " + getName(node));
-        put.description(description);
-        put.parameter(new BodyParameter()
-                .name(getName(node) + ".body-param")
+        final String summary = components.text("creates or updates " + getName(node));
+        put.summary(summary);
+        put.description(node.getDescription().orElse(summary));
+        body(put, new BodyParameter()
+                .name(components.text(getName(node) + ".body-param"))
                 .schema(definition)
-                .description(getName(node) + " to be added or updated"));
+                .description(components.text(getName(node) + " to be added or updated")));
 
-        put.response(201, new Response().description("Object created"));
-        put.response(204, new Response().description("Object modified"));
+        put.addResponse("201", components.response("Object created"));
+        put.addResponse("204", components.response("Object modified"));
         return put;
     }
 }
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *    Contributors:
+ *       Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.path;
+
+import com.mrv.yangtools.codegen.impl.StringPool;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Operation components that are defined once in the top level <code>parameters</code> and <code>responses</code>
+ * sections of the Swagger and referenced from operations.
+ * Parameters are registered under their names, responses under names derived from their descriptions.
+ * If a name is already taken by a different definition a numeric suffix is added.
+ * @author bartosz.michalik@amartus.com
+ */
+public class ReferencingOperationComponents extends OperationComponents {
+    private final Swagger target;
+    private final Map<String, Response> responseRefs = new HashMap<>();
+    private final Map<Parameter, RefParameter> parameterRefs = new HashMap<>();
+    private final Map<List<Parameter>, List<Parameter>> parameterLists = new HashMap<>();
+
+    public ReferencingOperationComponents(Swagger target) {
+        this(target, new StringPool());
+    }
+
+    public ReferencingOperationComponents(Swagger target, StringPool strings) {
+        super(strings);
+        Objects.requireNonNull(target);
+        this.target = target;
+    }
+
+    @Override
+    public Response response(String description) {
+        return responseRefs.computeIfAbsent(description, d -> {
+            final Response response = super.response(d);
+            final Map<String, Response> defined = target.getResponses() == null ? Collections.emptyMap() : target.getResponses();
+            final String name = uniqueName(toName(d), n -> defined.containsKey(n) && !response.equals(defined.get(n)));
+            target.response(name, response);
+            return new RefResponse("#/responses/" + name);
+        });
+    }
+
+    @Override
+    public List<Parameter> parameters(List<Parameter> params) {
+        return new ArrayList<>(parameterLists.computeIfAbsent(params, p -> p.stream()
+                .map(this::reference)
+                .collect(Collectors.toList())));
+    }
+
+    private Parameter reference(Parameter param) {
+        return parameterRefs.computeIfAbsent(param, p -> {
+            final Map<String, Parameter> defined = target.getParameters() == null ? Collections.emptyMap() : target.getParameters();
+            final String name = uniqueName(p.getName(), n -> defined.containsKey(n) && !p.equals(defined.get(n)));
+            target.parameter(name, p);
+            return new RefParameter("#/parameters/" + name);
+        });
+    }
+
+    private static String uniqueName(String name, java.util.function.Predicate<String> taken) {
+        if(!taken.test(name)) return name;
+        int idx = 2;
+        while(taken.test(name + "-" + idx)) {
+            idx++;
+        }
+        return name + "-" + idx;
+    }
+
+    private static String toName(String description) {
+        return description.trim().toLowerCase().replaceAll("[^a-z0-9]+", "-");
+    }
+}
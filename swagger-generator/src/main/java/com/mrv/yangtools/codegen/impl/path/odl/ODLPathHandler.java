@@ -19,10 +19,12 @@ import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 import org.opendaylight.yangtools.yang.model.api.*;
 
+import java.util.List;
 import java.util.Set;
 
 /**
  * REST path handler compliant with ODL RESTCONF https://wiki.opendaylight.org/view/OpenDaylight_Controller:MD-SAL:Restconf#Identifier_in_URI
+ * The GET operation of a <code>/config</code> path item is the same instance as the one of its <code>/operational</code> twin.
  * @author damian.mrozowicz@amartus.com
  */
 class ODLPathHandler extends AbstractPathHandler {
@@ -30,7 +32,11 @@ class ODLPathHandler extends AbstractPathHandler {
     private final String operational;
 
     ODLPathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud) {
-        super(ctx, modules, target, objBuilder, generators, fullCrud);
+        this(ctx, modules, target, objBuilder, generators, new PathOperations(fullCrud, true), new OperationComponents());
+    }
+
+    ODLPathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, PathOperations operations, OperationComponents components) {
+        super(ctx, modules, target, objBuilder, generators, operations, components);
         operational = "/operational/";
         data = "/config/";
     }
@@ -43,38 +49,44 @@ class ODLPathHandler extends AbstractPathHandler {
 
     @Override
     public void path(ContainerSchemaNode cN, PathSegment pathCtx) {
-        final Path operationalPath = operationalOperations(cN, pathCtx);
+        final List<String> tags = tags(pathCtx);
+        final Path operationalPath = operationalOperations(cN, pathCtx, tags);
         ODLRestconfPathPrinter operationalPathPrinter = new ODLRestconfPathPrinter(pathCtx, useModuleName);
         swagger.path(operational + operationalPathPrinter.path(), operationalPath);
 
-        if (!pathCtx.isReadOnly()) {
-            final Path configPath = operations(cN, pathCtx);
+        if (!pathOperations.data(pathCtx).isEmpty()) {
+            final Path configPath = operations(cN, pathCtx, tags, operationalPath.getGet());
             ODLRestconfPathPrinter configPathPrinter = new ODLRestconfPathPrinter(pathCtx, useModuleName);
             swagger.path(data + configPathPrinter.path(), configPath);
         }
     }
 
     protected Path operationalOperations(DataSchemaNode node, PathSegment pathCtx) {
+        return operationalOperations(node, pathCtx, tags(pathCtx));
+    }
+
+    protected Path operationalOperations(DataSchemaNode node, PathSegment pathCtx, List<String> tags) {
         final Path path = new Path();
-        path.get(new GetOperationGenerator(pathCtx, dataObjectBuilder).execute(node).tags(tags(pathCtx)));
+        path.get(new GetOperationGenerator(pathCtx, dataObjectBuilder, components).execute(node).tags(components.tags(tags)));
         return path;
     }
 
     @Override
     public void path(ListSchemaNode lN, PathSegment pathCtx) {
-        final Path operationalPath = operationalOperations(lN, pathCtx);
+        final List<String> tags = tags(pathCtx);
+        final Path operationalPath = operationalOperations(lN, pathCtx, tags);
         ODLRestconfPathPrinter operationalPathPrinter = new ODLRestconfPathPrinter(pathCtx, useModuleName);
         swagger.path(operational + operationalPathPrinter.path(), operationalPath);
 
-        if (!pathCtx.isReadOnly()) {
-            final Path configPath = operations(lN, pathCtx);
+        if (!pathOperations.data(pathCtx).isEmpty()) {
+            final Path configPath = operations(lN, pathCtx, tags, operationalPath.getGet());
             ODLRestconfPathPrinter configPathPrinter = new ODLRestconfPathPrinter(pathCtx, useModuleName);
             swagger.path(data + configPathPrinter.path(), configPath);
 
-            if(fullCrud) {
+            if(!pathOperations.list(pathCtx).isEmpty()) {
                 //referencing list path
                 final Path list = new Path();
-                list.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, true).execute(lN));
+                list.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, components, true).execute(lN));
 
 
                 ODLRestconfPathPrinter postPrinter = new ODLRestconfPathPrinter(pathCtx, useModuleName, true);
@@ -87,9 +99,4 @@ class ODLPathHandler extends AbstractPathHandler {
     protected PathPrinter getPrinter(PathSegment pathCtx) {
         return new ODLRestconfPathPrinter(pathCtx, useModuleName);
     }
-
-    @Override
-    protected boolean generateModifyOperations(PathSegment pathCtx) {
-        return fullCrud;
-    }
 }
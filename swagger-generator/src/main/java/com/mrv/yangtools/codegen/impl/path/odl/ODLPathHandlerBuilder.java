@@ -20,7 +20,12 @@ public class ODLPathHandlerBuilder extends AbstractPathHandlerBuilder {
 
     @Override
     public PathHandler forModule(Module module) {
-        return new ODLPathHandler(ctx, module, target, objBuilder, tagGenerators,fullCrud).useModuleName(useModuleName);
+        return new ODLPathHandler(ctx, module, target, objBuilder, tagGenerators, pathOperations(), components).useModuleName(useModuleName);
+    }
+
+    @Override
+    protected boolean operationalPaths() {
+        return true;
     }
 
     @Override
@@ -19,6 +19,7 @@ import com.mrv.yangtools.codegen.impl.path.*;
 import io.swagger.models.*;
 import org.opendaylight.yangtools.yang.model.api.*;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -32,6 +33,10 @@ class PathHandler extends AbstractPathHandler {
         super(ctx, modules, target, objBuilder, generators, fullCrud);
     }
 
+    PathHandler(EffectiveModelContext ctx, org.opendaylight.yangtools.yang.model.api.Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, PathOperations operations, OperationComponents components) {
+        super(ctx, modules, target, objBuilder, generators, operations, components);
+    }
+
     public PathHandler useModuleName(boolean use) {
         this.useModuleName = use;
         return this;
@@ -48,16 +53,17 @@ class PathHandler extends AbstractPathHandler {
 
     @Override
     public void path(ListSchemaNode lN, PathSegment pathCtx) {
-        final Path path = operations(lN, pathCtx);
+        final List<String> tags = tags(pathCtx);
+        final Path path = operations(lN, pathCtx, tags);
 
         RestconfPathPrinter printer = new RestconfPathPrinter(pathCtx, useModuleName);
         swagger.path(data + printer.path(), path);
 
-        if(!fullCrud || pathCtx.isReadOnly()) return;
+        if(pathOperations.list(pathCtx).isEmpty()) return;
 
         //referencing list path
         final Path list = new Path();
-        list.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, true).execute(lN).tags(tags(pathCtx)));
+        list.post(new PostOperationGenerator(pathCtx, dataObjectBuilder, components, true).execute(lN).tags(components.tags(tags)));
 
 
         RestconfPathPrinter postPrinter = new RestconfPathPrinter(pathCtx, useModuleName, true);
@@ -68,11 +74,4 @@ class PathHandler extends AbstractPathHandler {
     protected PathPrinter getPrinter(PathSegment pathCtx) {
         return new RestconfPathPrinter(pathCtx, useModuleName);
     }
-
-    @Override
-    protected boolean generateModifyOperations(PathSegment pathCtx) {
-        return fullCrud && !pathCtx.isReadOnly();
-    }
-
-
 }
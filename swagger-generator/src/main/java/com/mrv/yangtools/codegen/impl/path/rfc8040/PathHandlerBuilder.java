@@ -22,7 +22,7 @@ public class PathHandlerBuilder extends AbstractPathHandlerBuilder {
 
     @Override
     public PathHandler forModule(Module module) {
-        return new com.mrv.yangtools.codegen.impl.path.rfc8040.PathHandler(ctx, module, target, objBuilder, tagGenerators,fullCrud).useModuleName(useModuleName);
+        return new com.mrv.yangtools.codegen.impl.path.rfc8040.PathHandler(ctx, module, target, objBuilder, tagGenerators, pathOperations(), components).useModuleName(useModuleName);
     }
 
     @Override
@@ -8,7 +8,6 @@
  */
 package com.mrv.yangtools.codegen.impl.postprocessor;
 
-import io.swagger.models.Operation;
 import io.swagger.models.Path;
 import io.swagger.models.SecurityRequirement;
 import io.swagger.models.Swagger;
@@ -17,15 +16,17 @@ import io.swagger.models.auth.SecuritySchemeDefinition;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.function.Consumer;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * @author bartosz.michalik@amartus.com
  */
-public class AddSecurityDefinitions implements Consumer<Swagger> {
+public class AddSecurityDefinitions implements SwaggerVisitor {
 
     private SecuritySchemeDefinition securityDefinition;
     private String securityDefinitionName;
+    private SharedOperations operations;
 
     public AddSecurityDefinitions withSecurityDefinition(String name, SecuritySchemeDefinition def) {
         this.securityDefinition = def;
@@ -34,13 +35,33 @@ public class AddSecurityDefinitions implements Consumer<Swagger> {
     }
 
     @Override
-    public void accept(Swagger swagger) {
+    public Set<Kind> visits() {
+        return EnumSet.of(Kind.PATHS);
+    }
+
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
+
+    @Override
+    public boolean concurrent() {
+        return true;
+    }
+
+    @Override
+    public void begin(Swagger swagger) {
         swagger.securityDefinition(securityDefinitionName, securityDefinition);
+        operations = new SharedOperations(swagger);
+    }
 
-        for(Path p : swagger.getPaths().values()) {
-            for(Operation o : p.getOperations()) {
-                o.addSecurity(securityDefinitionName, Collections.emptyList());
-            }
-        }
+    @Override
+    public void visitPath(String name, Path path) {
+        operations.change(path, (method, o) -> o.addSecurity(securityDefinitionName, Collections.emptyList()));
+    }
+
+    @Override
+    public void end(Swagger swagger) {
+        operations = null;
     }
 }
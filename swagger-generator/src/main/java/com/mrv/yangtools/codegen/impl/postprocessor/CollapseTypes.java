@@ -8,49 +8,192 @@
  */
 package com.mrv.yangtools.codegen.impl.postprocessor;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.HashCode;
+import com.mrv.yangtools.codegen.impl.Fingerprints;
 import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.AbstractMap;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.*;
 
 /**
- * Build replacements for reference models only
+ * Build replacements for structurally identical models, i.e. reference models with the same references
+ * and plain models with the same properties, types, references, enumerations and extensions.
+ * Models are grouped by {@link Fingerprints#unordered(JsonNode) fingerprints} of their canonical form and merged only if the canonical forms are equal.
+ * Documentation is part of the canonical form, so models that differ only in description or title are kept apart.
+ * References in canonical forms point to the types that remain after collapsing,
+ * so models become identical once the types they use are collapsed. Fingerprints are computed once,
+ * in reverse-topological order of the {@link TypeGraph}; only the models that use or reference a collapsed type
+ * are fingerprinted again.
  * @author bartosz.michalik@amartus.com
  */
 public class CollapseTypes extends ReplaceDefinitionsProcessor {
+    private static final Logger log = LoggerFactory.getLogger(CollapseTypes.class);
+    private static final String DEF_PREFIX = "#/definitions/";
 
     private Predicate<ComposedModel> referenceOnly = m -> m.getAllOf().stream().allMatch(a -> a instanceof RefModel);
-    private Function<ComposedModel, String> toSignature = m -> Integer.toHexString(
-            m.getAllOf().stream()
-                .filter(a -> a instanceof RefModel)
-                .map(a -> ((RefModel) a).getSimpleRef().hashCode())
-                .reduce(Integer::sum).orElse(0)
-    );
-
 
     @Override
     protected Map<String, String> prepareForReplacement(Swagger swagger) {
+        Map<String, Model> candidates = swagger.getDefinitions().entrySet().stream()
+                .filter(e -> e.getValue() instanceof ModelImpl
+                        || e.getValue() instanceof ComposedModel && referenceOnly.test((ComposedModel) e.getValue()))
+                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+        final TypeGraph graph = graph();
+
+        Map<String, String> replacements = new HashMap<>();
+        Function<String, String> target = t -> {
+            String replacement = replacements.get(t);
+            while(replacement != null) {
+                t = replacement;
+                replacement = replacements.get(t);
+            }
+            return t;
+        };
+        //types replaced directly or indirectly by a given type
+        Map<String, List<String>> absorbed = new HashMap<>();
+        Map<String, HashCode> fingerprints = new HashMap<>();
+        Map<HashCode, SortedSet<String>> groups = new HashMap<>();
+
+        Deque<Collection<String>> batches = new ArrayDeque<>(levels(candidates.keySet(), graph));
+        int rounds = 0;
+        while(!batches.isEmpty()) {
+            rounds++;
+            Map<String, HashCode> computed = batches.poll().parallelStream()
+                    .filter(t -> !replacements.containsKey(t))
+                    .collect(toConcurrentMap(t -> t, t -> Fingerprints.unordered(canonical(candidates.get(t), target))));
+
+            Set<HashCode> touched = new LinkedHashSet<>();
+            new TreeMap<>(computed).forEach((t, fingerprint) -> {
+                HashCode previous = fingerprints.put(t, fingerprint);
+                if(previous != null) {
+                    groups.get(previous).remove(t);
+                }
+                groups.computeIfAbsent(fingerprint, x -> new TreeSet<>()).add(t);
+                touched.add(fingerprint);
+            });
+
+            Set<String> stale = new TreeSet<>();
+            for(HashCode fingerprint : touched) {
+                SortedSet<String> group = groups.get(fingerprint);
+                if(group.size() < 2) continue;
+                for(List<String> same : verified(group, candidates, target)) {
+                    final String type = same.stream().min(Comparator.comparingInt(String::length)
+                            .thenComparing(Comparator.naturalOrder())).get();
+                    for(String s : same) {
+                        if(s.equals(type)) continue;
+                        replacements.put(s, type);
+                        group.remove(s);
+                        fingerprints.remove(s);
+                        List<String> replaced = absorbed.computeIfAbsent(type, x -> new ArrayList<>());
+                        replaced.add(s);
+                        replaced.addAll(absorbed.getOrDefault(s, Collections.emptyList()));
+                        Stream.concat(Stream.of(s), absorbed.getOrDefault(s, Collections.emptyList()).stream())
+                                .flatMap(r -> Stream.concat(graph.usedBy(r).stream(), graph.referencedBy(r).stream()))
+                                .forEach(stale::add);
+                        absorbed.remove(s);
+                    }
+                }
+            }
+            //types not fingerprinted yet see the collapsed types when their level is processed
+            stale.removeIf(t -> !fingerprints.containsKey(t));
+            if(!stale.isEmpty()) {
+                batches.addFirst(stale);
+            }
+        }
+        log.debug("{} types collapsed in {} rounds", replacements.size(), rounds);
+        return replacements;
+    }
 
-        Map<String, Set<String>> sameGroups = swagger.getDefinitions().entrySet().stream()
-                .filter(e -> e.getValue() instanceof ComposedModel)
-                .filter(e -> referenceOnly.test((ComposedModel) e.getValue()))
-                .map(e -> new AbstractMap.SimpleEntry<>(toSignature.apply((ComposedModel) e.getValue()), e.getKey()))
-                .collect(groupingBy(AbstractMap.SimpleEntry::getKey, mapping(AbstractMap.SimpleEntry::getValue, toSet())));
+    /**
+     * Order types in reverse-topological levels, so that the types a model uses or references
+     * are collapsed before the model is fingerprinted. References that close a cycle are skipped.
+     * @param types candidates for collapsing
+     * @param graph type graph of the document
+     * @return types grouped by their height in the type graph, starting from the types that do not use other candidates
+     */
+    private static Collection<List<String>> levels(Set<String> types, TypeGraph graph) {
+        Map<String, Integer> heights = new HashMap<>();
+        SortedMap<Integer, List<String>> levels = new TreeMap<>();
+        for(String type : types) {
+            levels.computeIfAbsent(height(type, types, graph, heights), x -> new ArrayList<>()).add(type);
+        }
+        return levels.values();
+    }
+
+    private static int height(String type, Set<String> types, TypeGraph graph, Map<String, Integer> heights) {
+        Integer known = heights.get(type);
+        if(known != null) return Math.max(known, 0);
+        heights.put(type, -1);
+        int height = Stream.concat(graph.uses(type).stream(), graph.references(type).stream())
+                .filter(types::contains)
+                .filter(t -> heights.getOrDefault(t, 0) >= 0)
+                .mapToInt(t -> height(t, types, graph, heights) + 1)
+                .max().orElse(0);
+        heights.put(type, height);
+        return height;
+    }
 
-        return sameGroups.values().stream()
-                .filter(v -> v.size() > 1)
-                .flatMap(v -> {
-                    final String type = v.stream().min(Comparator.comparingInt(String::length)).get();
-                    return v.stream().filter(s -> !s.equals(type)).map(s -> new AbstractMap.SimpleEntry<>(s, type));
+    /**
+     * Split types with the same fingerprint into groups with equal canonical forms
+     */
+    private static Collection<List<String>> verified(Collection<String> sameFingerprint, Map<String, Model> models, Function<String, String> target) {
+        Map<JsonNode, List<String>> result = new LinkedHashMap<>();
+        sameFingerprint.stream().sorted().forEach(t ->
+                result.computeIfAbsent(canonical(models.get(t), target), x -> new ArrayList<>()).add(t));
+        if(result.size() > 1) {
+            log.warn("fingerprint collision for {}", sameFingerprint);
+        }
+        return result.values();
+    }
+
+    /**
+     * Canonical form of the model structure, including model description and title.
+     * @param model model to process
+     * @param target type that remains after collapsing for a given type
+     * @return canonical form
+     */
+    private static JsonNode canonical(Model model, Function<String, String> target) {
+        if(model instanceof ComposedModel) {
+            ObjectNode node = JsonNodeFactory.instance.objectNode();
+            ArrayNode refs = node.putArray("allOf");
+            ((ComposedModel) model).getAllOf().stream()
+                    .map(m -> target.apply(((RefModel) m).getSimpleRef()))
+                    .sorted()
+                    .forEach(refs::add);
+            Optional.ofNullable(model.getDescription()).ifPresent(d -> node.put("description", d));
+            Optional.ofNullable(model.getTitle()).ifPresent(t -> node.put("title", t));
+            return node;
+        }
+        ObjectNode node = Json.mapper().valueToTree(model);
+        return retarget(node, target);
+    }
 
-                }).collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+    private static JsonNode retarget(JsonNode node, Function<String, String> target) {
+        if(node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            JsonNode ref = object.get("$ref");
+            if(ref != null && ref.isTextual() && ref.asText().startsWith(DEF_PREFIX)) {
+                object.put("$ref", DEF_PREFIX + target.apply(ref.asText().substring(DEF_PREFIX.length())));
+            }
+            object.forEach(child -> retarget(child, target));
+        } else if(node.isArray()) {
+            node.forEach(child -> retarget(child, target));
+        }
+        return node;
     }
 }
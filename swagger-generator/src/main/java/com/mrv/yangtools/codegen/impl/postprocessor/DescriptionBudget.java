@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import com.mrv.yangtools.codegen.impl.SwaggerCopier;
+import io.swagger.models.*;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Limit length of descriptions of definitions, properties, operations and parameters.
+ * Descriptions longer than the budget are truncated, or with {@link #externalize()} removed from the document
+ * and kept in {@link #descriptions()} instead, keyed by JSON pointer to the element they describe,
+ * e.g. <code>#/definitions/Name/properties/prop</code>. An element shared by several places of the document,
+ * e.g. a path parameter of many operations, is changed once and its description is kept for each of these places.
+ * Properties are never changed, as unpacked structures share them between models; a property with
+ * a description over the budget is replaced with its copy instead.
+ * Response descriptions are required by swagger and not changed.
+ * @author bartosz.michalik@amartus.com
+ */
+public class DescriptionBudget implements SwaggerVisitor {
+    private static final String ELLIPSIS = "...";
+
+    private final int maxLength;
+    private boolean externalize;
+    private final Map<String, String> descriptions = new TreeMap<>();
+    // original descriptions of the elements met so far, by identity as elements might be shared
+    private final Map<Object, String> originals = new IdentityHashMap<>();
+    // changed copies of properties, by identity of the original property
+    private final Map<Property, Property> copies = new IdentityHashMap<>();
+    private SharedOperations operations;
+
+    /**
+     * @param maxLength maximal length of description kept in the document, 0 for no descriptions
+     */
+    public DescriptionBudget(int maxLength) {
+        if(maxLength < 0) throw new IllegalArgumentException("negative description budget " + maxLength);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Move descriptions over the budget to {@link #descriptions()} instead of truncating them
+     * @return this
+     */
+    public DescriptionBudget externalize() {
+        this.externalize = true;
+        return this;
+    }
+
+    /**
+     * @return descriptions removed from the document by JSON pointers to the elements they describe
+     */
+    public Map<String, String> descriptions() {
+        return Collections.unmodifiableMap(descriptions);
+    }
+
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
+
+    @Override
+    public void begin(Swagger swagger) {
+        operations = new SharedOperations(swagger);
+        descriptions.clear();
+        originals.clear();
+        copies.clear();
+        if(swagger.getParameters() != null) {
+            swagger.getParameters().forEach((name, p) -> parameter("#/parameters/" + escape(name), p));
+        }
+    }
+
+    @Override
+    public void end(Swagger swagger) {
+        operations = null;
+        originals.clear();
+        copies.clear();
+    }
+
+    @Override
+    public void visitPath(String name, Path path) {
+        String pointer = "#/paths/" + escape(name);
+        operations.change(path, (method, o) -> {
+            String op = pointer + "/" + method.name().toLowerCase();
+            budget(o, op, o.getDescription(), o::setDescription);
+            List<Parameter> parameters = o.getParameters();
+            for(int i = 0; i < parameters.size(); i++) {
+                parameter(op + "/parameters/" + i, parameters.get(i));
+            }
+        });
+    }
+
+    private void parameter(String pointer, Parameter parameter) {
+        budget(parameter, pointer, parameter.getDescription(), parameter::setDescription);
+        if(parameter instanceof BodyParameter) {
+            model(pointer + "/schema", ((BodyParameter) parameter).getSchema());
+        }
+    }
+
+    @Override
+    public void visitDefinition(String name, Model model) {
+        model("#/definitions/" + escape(name), model);
+    }
+
+    private void model(String pointer, Model model) {
+        if(model == null) return;
+        budget(model, pointer, model.getDescription(), model::setDescription);
+        if(model instanceof ComposedModel) {
+            List<Model> allOf = ((ComposedModel) model).getAllOf();
+            for(int i = 0; i < allOf.size(); i++) {
+                model(pointer + "/allOf/" + i, allOf.get(i));
+            }
+        } else if(model instanceof ArrayModel) {
+            ArrayModel array = (ArrayModel) model;
+            array.setItems(property(pointer + "/items", array.getItems()));
+        } else {
+            Map<String, Property> properties = properties(pointer, model.getProperties());
+            if(properties != model.getProperties()) {
+                properties.forEach(model.getProperties()::put);
+            }
+        }
+    }
+
+    /**
+     * @return the same map if no property changed, otherwise a new map with changed properties
+     */
+    private Map<String, Property> properties(String pointer, Map<String, Property> properties) {
+        if(properties == null) return null;
+        Map<String, Property> result = properties;
+        for(Map.Entry<String, Property> e : properties.entrySet()) {
+            Property property = property(pointer + "/properties/" + escape(e.getKey()), e.getValue());
+            if(property != e.getValue()) {
+                if(result == properties) {
+                    result = new LinkedHashMap<>(properties);
+                }
+                result.put(e.getKey(), property);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Properties might be shared by several models, so the property is not changed.
+     * If its description or any of its nested properties is over the budget, it is replaced with a copy,
+     * which is then shared by all the places the property was used in.
+     * @return the same property if nothing changed, otherwise its changed copy
+     */
+    private Property property(String pointer, Property property) {
+        if(property == null) return null;
+        String description = property.getDescription();
+        boolean changed = description != null && description.length() > maxLength;
+        if(changed) {
+            description = budget(pointer, description);
+        }
+        Property items = null;
+        Map<String, Property> properties = null;
+        if(property instanceof ArrayProperty) {
+            items = property(pointer + "/items", ((ArrayProperty) property).getItems());
+            changed |= items != ((ArrayProperty) property).getItems();
+        } else if(property instanceof MapProperty) {
+            items = property(pointer + "/additionalProperties", ((MapProperty) property).getAdditionalProperties());
+            changed |= items != ((MapProperty) property).getAdditionalProperties();
+        } else if(property instanceof ObjectProperty) {
+            properties = properties(pointer, ((ObjectProperty) property).getProperties());
+            changed |= properties != ((ObjectProperty) property).getProperties();
+        }
+        if(!changed) return property;
+
+        final String budgeted = description;
+        final Property nested = items;
+        final Map<String, Property> nestedProperties = properties;
+        return copies.computeIfAbsent(property, p -> {
+            Property copy = SwaggerCopier.shallowCopyOf(p);
+            copy.setDescription(budgeted);
+            if(copy instanceof ArrayProperty) {
+                ((ArrayProperty) copy).setItems(nested);
+            } else if(copy instanceof MapProperty) {
+                ((MapProperty) copy).setAdditionalProperties(nested);
+            } else if(copy instanceof ObjectProperty) {
+                ((ObjectProperty) copy).setProperties(Collections.unmodifiableMap(nestedProperties));
+            }
+            return copy;
+        });
+    }
+
+    private void budget(Object element, String pointer, String description, Consumer<String> update) {
+        final String original = originals.computeIfAbsent(element, e -> description);
+        if(original == null || original.length() <= maxLength) return;
+        update.accept(budget(pointer, original));
+    }
+
+    /**
+     * @param pointer to the described element
+     * @param original description over the budget
+     * @return description to keep in the document
+     */
+    private String budget(String pointer, String original) {
+        if(externalize) {
+            descriptions.put(pointer, original);
+            return null;
+        }
+        if(maxLength <= ELLIPSIS.length()) {
+            return maxLength == 0 ? null : original.substring(0, maxLength);
+        }
+        return original.substring(0, maxLength - ELLIPSIS.length()) + ELLIPSIS;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
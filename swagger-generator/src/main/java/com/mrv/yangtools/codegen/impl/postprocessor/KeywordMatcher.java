@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over a list of keywords.
+ * It finds keywords contained in a text in a single scan, regardless of the number of keywords.
+ * @author bartosz.michalik@amartus.com
+ */
+class KeywordMatcher {
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private final List<String> keywords;
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private int[] fail;
+    //lowest index of a keyword that ends in the state
+    private int[] matches;
+
+    KeywordMatcher(List<String> keywords) {
+        this.keywords = Collections.unmodifiableList(new ArrayList<>(keywords));
+        transitions.add(new HashMap<>());
+        List<Integer> ends = new ArrayList<>();
+        ends.add(NONE);
+        for(int k = 0; k < this.keywords.size(); k++) {
+            String keyword = this.keywords.get(k);
+            int state = 0;
+            for(int i = 0; i < keyword.length(); i++) {
+                Integer next = transitions.get(state).get(keyword.charAt(i));
+                if(next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    ends.add(NONE);
+                    transitions.get(state).put(keyword.charAt(i), next);
+                }
+                state = next;
+            }
+            ends.set(state, Math.min(ends.get(state), k));
+        }
+        matches = ends.stream().mapToInt(Integer::intValue).toArray();
+        link();
+    }
+
+    /**
+     * Compute failure links in breadth-first order, so that matches of a state include matches of its suffixes
+     */
+    private void link() {
+        fail = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while(!queue.isEmpty()) {
+            int state = queue.poll();
+            for(Map.Entry<Character, Integer> t : transitions.get(state).entrySet()) {
+                int child = t.getValue();
+                int f = fail[state];
+                while(f > 0 && !transitions.get(f).containsKey(t.getKey())) {
+                    f = fail[f];
+                }
+                Integer target = transitions.get(f).get(t.getKey());
+                fail[child] = target == null || target == child ? 0 : target;
+                matches[child] = Math.min(matches[child], matches[fail[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * @param text to scan
+     * @return keyword with the lowest index among keywords contained in the text, or null if there is none
+     */
+    String first(String text) {
+        if(text == null || keywords.isEmpty()) return null;
+        int state = 0;
+        int best = NONE;
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while(next == null && state > 0) {
+                state = fail[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next == null ? 0 : next;
+            best = Math.min(best, matches[state]);
+        }
+        return best == NONE ? null : keywords.get(best);
+    }
+}
@@ -14,10 +14,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper.*;
 
@@ -27,7 +25,7 @@ import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper.*;
  * If nothing is specified swagger model remains intact.
  * @author bartosz.michalik@amartus.com
  */
-public class PathPrunner implements Consumer<Swagger> {
+public class PathPrunner implements SwaggerVisitor {
 
     private final Logger log = LoggerFactory.getLogger(PathPrunner.class);
 
@@ -44,8 +42,8 @@ public class PathPrunner implements Consumer<Swagger> {
         this.pathMatchers = new HashSet<>();
     }
 
-    private Predicate<String> startsWith(Collection<String> prefixes) {
-        return candidate -> prefixes.stream().anyMatch(candidate::startsWith);
+    private static PrefixTrie startsWith(Collection<String> prefixes) {
+        return new PrefixTrie(prefixes);
     }
 
     /**
@@ -69,42 +67,87 @@ public class PathPrunner implements Consumer<Swagger> {
     }
 
     @Override
-    public void accept(Swagger swagger) {
+    public Set<Kind> visits() {
+        return EnumSet.noneOf(Kind.class);
+    }
+
+    @Override
+    public Set<Kind> restructures() {
+        return EnumSet.of(Kind.PATHS);
+    }
+
+    @Override
+    public boolean inspectsDocument() {
+        return true;
+    }
+
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
+
+    @Override
+    public void begin(Swagger swagger, TypeGraph graph) {
         if(swagger.getPaths() == null) return;
+        final Set<String> initial = new HashSet<>(swagger.getPaths().keySet());
         prunePaths(swagger);
 
-        if(swagger.getDefinitions() == null || types.isEmpty()) return;
-        new TypePruner(swagger).prune();
-    }
+        //check types first, so that definitions are not requested when pruning by path only
+        if(!types.isEmpty() && swagger.getDefinitions() != null) {
+            new TypePruner(swagger, graph).prune();
+        }
 
-    private static Stream<String> inheritenceStructure(String type, Map<String, TypeNode> hierarchy) {
-        return Stream.concat(Stream.of(type),
-            hierarchy.get(type).getReferencing().stream().flatMap(tn -> inheritenceStructure(tn.type, hierarchy)));
+        initial.removeAll(swagger.getPaths().keySet());
+        initial.forEach(graph::removePath);
     }
 
     private class TypePruner {
         private final Swagger swagger;
         private final Predicate<String> excludedPaths;
-        private final Map<String, TypeNode> hierarchy;
+        private final TypeGraph hierarchy;
+        private Set<String> conforming;
 
-        private TypePruner(Swagger swagger) {
+        private TypePruner(Swagger swagger, TypeGraph hierarchy) {
             this.swagger = swagger;
             excludedPaths = startsWith(exclude);
-            hierarchy = buildTypeHierarchy(swagger);
+            this.hierarchy = hierarchy;
+        }
+
+        /**
+         * Check if type or any type in its inheritance structure is configured with {@link PathPrunner#withType(String)}.
+         * Conforming types are computed once, walking from the configured types to the types referencing them,
+         * so that the result does not depend on the order of checks, also for cycles in all-of.
+         * @param type to check
+         * @return true if type conforms
+         */
+        private boolean conforms(String type) {
+            if(conforming == null) {
+                conforming = new HashSet<>(types);
+                final Deque<String> toVisit = new ArrayDeque<>(types);
+                while(!toVisit.isEmpty()) {
+                    hierarchy.referencedBy(toVisit.pop()).stream()
+                            .filter(conforming::add)
+                            .forEach(toVisit::push);
+                }
+            }
+            return conforming.contains(type);
         }
 
         void prune() {
-            final Set<String> toRemove = swagger.getPaths().entrySet().stream()
+            final PrefixTrie toRemove = startsWith(swagger.getPaths().entrySet().stream()
                     .filter(e -> !excludedPaths.test(e.getKey()))
                     .filter(e -> removeByType(e.getKey(), e.getValue()))
                     .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
-
-            swagger.setPaths(swagger.getPaths().entrySet().stream().filter(p -> {
-                boolean remove = toRemove.stream().anyMatch(tR -> p.getKey().startsWith(tR));
-                if(remove) log.debug("Removing path based on type {}", p.getKey());
-                return !remove;
-            }).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+                    .collect(Collectors.toList()));
+
+            if(toRemove.isEmpty()) return;
+            Map<String, Path> paths = swagger.getPaths();
+            paths.keySet().removeIf(p -> {
+                boolean remove = toRemove.test(p);
+                if(remove) log.debug("Removing path based on type {}", p);
+                return remove;
+            });
+            swagger.setPaths(paths);
         }
 
         /**
@@ -135,7 +178,7 @@ public class PathPrunner implements Consumer<Swagger> {
                 log.warn("not recognized {} path {}. Skipping.", operationName, pathName);
                 return false;
             }
-            return inheritenceStructure(modelId, hierarchy).noneMatch(m -> types.contains(m));
+            return !conforms(modelId);
         }
 
         private boolean toRemoveByResponse(String pathName, Operation o) {
@@ -145,7 +188,7 @@ public class PathPrunner implements Consumer<Swagger> {
                 return false;
             }
 
-            return inheritenceStructure(modelId, hierarchy).noneMatch(m -> types.contains(m));
+            return !conforms(modelId);
         }
     }
 
@@ -156,24 +199,11 @@ public class PathPrunner implements Consumer<Swagger> {
         if(pathMatchers.isEmpty()) return;
 
         Map<String, Path> paths = swagger.getPaths();
-        Set<String> toRemove = paths.entrySet().stream()
-                .filter(e -> !excluded.test(e.getKey()) && match.test(e.getKey()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-        toRemove.forEach(p -> {
-            log.debug("Removing path based on type {}", p);
-            paths.remove(p);
+        paths.keySet().removeIf(p -> {
+            boolean remove = !excluded.test(p) && match.test(p);
+            if(remove) log.debug("Removing path based on type {}", p);
+            return remove;
         });
         swagger.setPaths(paths);
     }
-
-    private Map<String, TypeNode> buildTypeHierarchy(Swagger swagger) {
-
-        TypesUsageTreeBuilder builder = new TypesUsageTreeBuilder();
-        swagger.getDefinitions().forEach((type, value) -> {
-            Stream<String> references = getReferences(type, value);
-            builder.referencing(type, references);
-        });
-        return builder.build();
-    }
 }
@@ -15,8 +15,13 @@ import io.swagger.models.properties.RefProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.function.Consumer;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.mrv.yangtools.codegen.DataObjectBuilder.DEF_PREFIX;
 
@@ -26,72 +31,135 @@ import static com.mrv.yangtools.codegen.DataObjectBuilder.DEF_PREFIX;
  * @author bartosz.michalik@amartus.com
  *
  */
-public abstract class PayloadWrapperProcessor implements Consumer<Swagger> {
+public abstract class PayloadWrapperProcessor implements SwaggerVisitor {
     private static final Logger log = LoggerFactory.getLogger(PayloadWrapperProcessor.class);
     private static final String POSTFIX = "Wrapper";
+    private static final Set<HttpMethod> WRAPPED = EnumSet.of(HttpMethod.GET, HttpMethod.PUT, HttpMethod.POST, HttpMethod.DELETE);
     private Swagger swagger;
+    private TypeGraph graph;
+    private SharedOperations operations;
+    //wrappers and paths are collected during traversal, which might be parallel, and reported at its end
+    private Map<String, Wrapper> wrappers;
+    private Map<String, Path> wrapped;
+    //a wrapper is defined by the first path that needs it
+    private Map<String, Integer> pathOrder;
 
     @Override
-    public void accept(Swagger swagger) {
+    public Set<Kind> visits() {
+        return EnumSet.of(Kind.PATHS);
+    }
+
+    @Override
+    public Set<Kind> restructures() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
+
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
+
+    @Override
+    public boolean concurrent() {
+        return true;
+    }
+
+    @Override
+    public void begin(Swagger swagger, TypeGraph graph) {
         this.swagger = Objects.requireNonNull(swagger);
-        this.swagger.getPaths().entrySet()
-                .forEach(e -> processPath(e.getKey(), e.getValue()));
+        this.graph = graph;
+        this.operations = new SharedOperations(swagger);
+        this.wrappers = new ConcurrentHashMap<>();
+        this.wrapped = new ConcurrentHashMap<>();
+        this.pathOrder = new HashMap<>();
+        if(swagger.getPaths() != null) {
+            swagger.getPaths().keySet().forEach(p -> pathOrder.put(p, pathOrder.size()));
+        }
     }
 
-    private void processPath(String key, Path path) {
+    @Override
+    public void visitPath(String key, Path path) {
         if(key.startsWith("/operations")) {
             return;
         }
 
-        processOperation(path.getGet(), toProperty(key));
-        processOperation(path.getPut(), toProperty(key));
-        processOperation(path.getPost(), toProperty(key));
-        processOperation(path.getDelete(), toProperty(key));
+        final int order = pathOrder.getOrDefault(key, Integer.MAX_VALUE);
+        final String property = toProperty(key);
+        operations.change(path, (method, o) -> {
+            if(WRAPPED.contains(method)) {
+                processOperation(o, property, order);
+            }
+        });
+        wrapped.put(key, path);
+    }
+
+    @Override
+    public void end(Swagger swagger) {
+        new TreeMap<>(wrappers).forEach((name, wrapper) -> {
+            log.info("Adding top-level model {} {} -> {}", name, wrapper.propertyName, wrapper.simpleRef);
+            ModelImpl model = new ModelImpl();
+            model.addProperty(wrapper.propertyName, new RefProperty(DEF_PREFIX + wrapper.simpleRef));
+            swagger.addDefinition(name, model);
+            graph.update(name, model);
+        });
+        wrapped.forEach(graph::updatePath);
+        this.swagger = null;
+        this.graph = null;
+        this.operations = null;
+        this.wrappers = null;
+        this.wrapped = null;
+        this.pathOrder = null;
     }
 
     protected abstract String toProperty(String path);
 
-    private void processOperation(Operation operation, String propertyName) {
+    private void processOperation(Operation operation, String propertyName, int order) {
         if(operation == null) {
             return;
         }
 
         operation.getResponses().values().stream()
                 .filter(r -> r.getSchema() instanceof RefProperty)
-                .forEach(r -> wrap(propertyName, r));
+                .forEach(r -> wrap(propertyName, order, r));
 
         operation.getParameters().stream()
                 .filter(p -> p instanceof BodyParameter)
                 .map(p -> (BodyParameter) p)
                 .filter(p -> p.getSchema() instanceof RefModel)
-                .forEach(param -> wrap(propertyName, param));
+                .forEach(param -> wrap(propertyName, order, param));
 
 
     }
 
-    private void wrap(String propertyName, Response r) {
+    private void wrap(String propertyName, int order, Response r) {
         RefModel prop = (RefModel) r.getResponseSchema();
-        r.setResponseSchema(wrap(propertyName, prop.getSimpleRef()));
+        r.setResponseSchema(wrap(propertyName, order, prop.getSimpleRef()));
     }
 
-    private void wrap(String propertyName, BodyParameter param) {
+    private void wrap(String propertyName, int order, BodyParameter param) {
         RefModel m = (RefModel) param.getSchema();
-        param.setSchema(wrap(propertyName, m.getSimpleRef()));
+        param.setSchema(wrap(propertyName, order, m.getSimpleRef()));
     }
 
-    private RefModel wrap(String propertyName, String simpleRef) {
+    private RefModel wrap(String propertyName, int order, String simpleRef) {
         String wrapperName = simpleRef + POSTFIX;
         Model model = swagger.getDefinitions().get(wrapperName);
         if (model == null) {
-            addWrappingModel(wrapperName, propertyName, simpleRef);
+            wrappers.merge(wrapperName, new Wrapper(propertyName, simpleRef, order),
+                    (a, b) -> a.order <= b.order ? a : b);
         }
         return new RefModel(DEF_PREFIX + wrapperName);
     }
 
-    private void addWrappingModel(String wrapperName, String propertyName, String simpleRef) {
-        log.info("Adding top-level model {} {} -> {}", wrapperName, propertyName, simpleRef);
-        ModelImpl model = new ModelImpl();
-        model.addProperty(propertyName, new RefProperty(DEF_PREFIX + simpleRef));
-        swagger.addDefinition(wrapperName, model);
+    private static class Wrapper {
+        private final String propertyName;
+        private final String simpleRef;
+        private final int order;
+
+        private Wrapper(String propertyName, String simpleRef, int order) {
+            this.propertyName = propertyName;
+            this.simpleRef = simpleRef;
+            this.order = order;
+        }
     }
 }
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerVisitor.Kind.DEFINITIONS;
+import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerVisitor.Kind.PATHS;
+
+/**
+ * Ordered list of postprocessors. Consecutive {@link SwaggerVisitor}s are run in a single traversal of paths and definitions
+ * unless one of them inspects the whole document before its traversal or visits elements restructured by a visitor before it.
+ * Plain {@link Consumer}s are run on their own in the pipeline order.
+ * All visitors share one {@link TypeGraph}, which is rebuilt only after processors that do not keep it valid.
+ * In parallel mode paths or definitions are visited in the common fork-join pool when all visitors of a traversal
+ * are {@link SwaggerVisitor#concurrent()}. Each element is still passed to the visitors in the pipeline order.
+ * @author bartosz.michalik@amartus.com
+ */
+public class PostProcessorPipeline implements Consumer<Swagger> {
+    private static final Logger log = LoggerFactory.getLogger(PostProcessorPipeline.class);
+    private final List<Consumer<Swagger>> processors = new ArrayList<>();
+    private boolean parallel;
+
+    public PostProcessorPipeline append(Consumer<Swagger> processor) {
+        Objects.requireNonNull(processor);
+        if(processor instanceof PostProcessorPipeline) {
+            processors.addAll(((PostProcessorPipeline) processor).processors);
+        } else {
+            processors.add(processor);
+        }
+        return this;
+    }
+
+    public PostProcessorPipeline prepend(Consumer<Swagger> processor) {
+        Objects.requireNonNull(processor);
+        if(processor instanceof PostProcessorPipeline) {
+            processors.addAll(0, ((PostProcessorPipeline) processor).processors);
+        } else {
+            processors.add(0, processor);
+        }
+        return this;
+    }
+
+    /**
+     * Visit paths and definitions in parallel where visitors allow it
+     * @param parallel true to enable
+     * @return this
+     */
+    public PostProcessorPipeline parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    @Override
+    public void accept(Swagger swagger) {
+        List<List<Consumer<Swagger>>> stages = stages();
+        log.debug("running {} postprocessors in {} stages", processors.size(), stages.size());
+        TypeGraph graph = new TypeGraph(swagger);
+        for(List<Consumer<Swagger>> stage : stages) {
+            run(stage, swagger, graph);
+            if(!stage.stream().allMatch(p -> p instanceof SwaggerVisitor && ((SwaggerVisitor) p).keepsTypeGraph())) {
+                graph.invalidate();
+            }
+        }
+    }
+
+    List<List<Consumer<Swagger>>> stages() {
+        List<List<Consumer<Swagger>>> stages = new ArrayList<>();
+        List<Consumer<Swagger>> current = null;
+        Set<SwaggerVisitor.Kind> restructured = EnumSet.noneOf(SwaggerVisitor.Kind.class);
+
+        for(Consumer<Swagger> p : processors) {
+            if(p instanceof SwaggerVisitor) {
+                SwaggerVisitor v = (SwaggerVisitor) p;
+                boolean join = current != null && !v.inspectsDocument()
+                        && Collections.disjoint(restructured, v.visits());
+                if(!join) {
+                    current = new ArrayList<>();
+                    stages.add(current);
+                    restructured.clear();
+                }
+                current.add(v);
+                restructured.addAll(v.restructures());
+                if(!v.keepsTypeGraph()) {
+                    current = null;
+                }
+            } else {
+                stages.add(Collections.singletonList(p));
+                current = null;
+            }
+        }
+        return stages;
+    }
+
+    private void run(List<Consumer<Swagger>> stage, Swagger swagger, TypeGraph graph) {
+        if(!(stage.get(0) instanceof SwaggerVisitor)) {
+            stage.get(0).accept(swagger);
+            return;
+        }
+
+        List<SwaggerVisitor> visitors = new ArrayList<>();
+        stage.forEach(p -> visitors.add((SwaggerVisitor) p));
+
+        visitors.forEach(v -> v.begin(swagger, graph));
+
+        List<SwaggerVisitor> pathVisitors = visiting(visitors, PATHS);
+        List<SwaggerVisitor> definitionVisitors = visiting(visitors, DEFINITIONS);
+        List<String> pathNames = pathVisitors.isEmpty() ? Collections.emptyList() : names(swagger.getPaths());
+        List<String> definitionNames = definitionVisitors.isEmpty() ? Collections.emptyList() : names(swagger.getDefinitions());
+
+        names(pathNames, pathVisitors).forEach(name -> {
+            for(SwaggerVisitor v : pathVisitors) {
+                Path path = swagger.getPath(name);
+                if(path != null) {
+                    v.visitPath(name, path);
+                }
+            }
+        });
+
+        names(definitionNames, definitionVisitors).forEach(name -> {
+            for(SwaggerVisitor v : definitionVisitors) {
+                Model model = swagger.getDefinitions().get(name);
+                if(model != null) {
+                    v.visitDefinition(name, model);
+                }
+            }
+        });
+
+        visitors.forEach(v -> v.end(swagger));
+    }
+
+    private static List<SwaggerVisitor> visiting(List<SwaggerVisitor> visitors, SwaggerVisitor.Kind kind) {
+        List<SwaggerVisitor> result = new ArrayList<>();
+        for(SwaggerVisitor v : visitors) {
+            if(v.visits().contains(kind)) {
+                result.add(v);
+            }
+        }
+        return result;
+    }
+
+    private Stream<String> names(List<String> names, List<SwaggerVisitor> visitors) {
+        if(parallel && visitors.stream().allMatch(SwaggerVisitor::concurrent)) {
+            return names.parallelStream();
+        }
+        return names.stream();
+    }
+
+    private static List<String> names(Map<String, ?> elements) {
+        return elements == null ? Collections.emptyList() : new ArrayList<>(elements.keySet());
+    }
+}
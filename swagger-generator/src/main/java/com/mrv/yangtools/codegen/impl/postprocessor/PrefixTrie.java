@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Set of path prefixes indexed in a character trie. Checking whether a path starts with any of the prefixes
+ * costs time proportional to the path length, regardless of the number of prefixes.
+ * Matching is the same as {@link String#startsWith(String)}, so <code>/a/b</code> matches <code>/a/bc</code> as well.
+ * @author bartosz.michalik@amartus.com
+ */
+class PrefixTrie implements Predicate<String> {
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    PrefixTrie() {}
+
+    PrefixTrie(Collection<String> prefixes) {
+        prefixes.forEach(this::add);
+    }
+
+    void add(String prefix) {
+        Node node = root;
+        for(int i = 0; i < prefix.length() && !node.terminal; i++) {
+            node = node.child(prefix.charAt(i), true);
+        }
+        node.terminal = true;
+        empty = false;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @param candidate path to check
+     * @return true if candidate starts with any of the prefixes
+     */
+    @Override
+    public boolean test(String candidate) {
+        if(empty) return false;
+        Node node = root;
+        for(int i = 0; ; i++) {
+            if(node.terminal) return true;
+            if(i == candidate.length()) return false;
+            node = node.child(candidate.charAt(i), false);
+            if(node == null) return false;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private Node child(char key, boolean create) {
+            for(int i = 0; i < keys.length; i++) {
+                if(keys[i] == key) return children[i];
+            }
+            if(!create) return null;
+            Node child = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+}
@@ -14,91 +14,89 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper.*;
 
 /**
  * @author bartosz.michalik@amartus.com
  */
-public class RemoveUnusedDefinitions implements Consumer<Swagger> {
+public class RemoveUnusedDefinitions implements SwaggerVisitor {
     private final Logger log = LoggerFactory.getLogger(RemoveUnusedDefinitions.class);
+    private TypeGraph graph;
+
     @Override
-    public void accept(Swagger swagger) {
-        int initial = swagger.getDefinitions().size();
-        Pruner pruner = new Pruner(buildHierarchy(swagger));
-        while(pruner.hasPruneable()) {
-            Stream<String> prune = pruner.prune();
-            Map<String, Model> defs = swagger.getDefinitions();
-            prune.forEach(type -> {
-                log.info("Removing unused type {}", type);
-                defs.remove(type);
-            });
-            swagger.setDefinitions(defs);
-        }
-        int afterPruning = swagger.getDefinitions().size();
-        log.debug("Pruned {} of {} definitions.", initial-afterPruning, initial);
+    public Set<Kind> visits() {
+        return EnumSet.noneOf(Kind.class);
     }
 
-    private Map<String, TypeNode> buildHierarchy(Swagger swagger) {
-        TypesUsageTreeBuilder typesUsageTreeBuilder = new TypesUsageTreeBuilder();
-
-        swagger.getDefinitions().forEach((type, value) -> {
-            Stream<String> using = getUses(type, value);
-            Stream<String> references = getReferences(type, value);
-            typesUsageTreeBuilder.referencing(type, references);
-            typesUsageTreeBuilder.using(type, using);
-        });
-        swagger.getPaths().forEach((path, value) -> {
-            Stream<String> using = getReferencing(path, value);
-            typesUsageTreeBuilder.markReferenced(path, using);
-        });
+    @Override
+    public Set<Kind> restructures() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
 
-        return typesUsageTreeBuilder.build();
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
     }
 
-    private Stream<String> getReferencing(String id, Path path) {
-        log.debug("Getting references for path {}", id);
-        return path.getOperations().stream().flatMap(o -> {
-            String bodyRef = getFromBody(o);
-            if(bodyRef != null) {
-                return Stream.concat(Stream.of(bodyRef), getFromResponses(o));
-            }
-            return getFromResponses(o);
-        });
+    @Override
+    public void begin(Swagger swagger, TypeGraph graph) {
+        this.graph = graph;
     }
 
+    @Override
+    public void end(Swagger swagger) {
+        int initial = swagger.getDefinitions().size();
+        Map<String, Model> defs = swagger.getDefinitions();
 
-    private class Pruner {
-        private final Map<String, TypeNode> types;
-        private Set<String> toProne;
+        boolean[] reachable = mark();
 
-        private Pruner(Map<String, TypeNode> types) {
-            this.types = types;
+        Iterator<String> it = defs.keySet().iterator();
+        while(it.hasNext()) {
+            String type = it.next();
+            int n = graph.node(type);
+            if(n < 0 || !reachable[n]) {
+                log.info("Removing unused type {}", type);
+                it.remove();
+                graph.remove(type);
+            }
         }
+        swagger.setDefinitions(defs);
+        graph = null;
 
-        public boolean hasPruneable() {
-            toProne = types.values().stream()
-                    .filter(t -> !t.isUsed()).map(t -> {
-                        log.debug("Unused type: {}", t.type);
-                        return t.type;
-                    }).collect(Collectors.toSet());
+        int afterPruning = swagger.getDefinitions().size();
+        log.info("Pruned {} of {} definitions.", initial-afterPruning, initial);
+    }
 
-            return !toProne.isEmpty();
+    /**
+     * Mark all definitions reachable from path roots through uses and references
+     * @return reachability of graph nodes
+     */
+    private boolean[] mark() {
+        boolean[] reachable = new boolean[graph.size()];
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        for(int n = 0; n < reachable.length; n++) {
+            if(graph.isPath(n)) {
+                for(int t : graph.out(TypeGraph.ROOTS, n)) {
+                    if(!reachable[t]) {
+                        reachable[t] = true;
+                        toVisit.push(t);
+                    }
+                }
+            }
         }
 
-        public Stream<String> prune() {
-            toProne.forEach(t -> {
-                TypeNode typeNode = types.get(t);
-                typeNode.removingType();
-                types.remove(t);
-            });
-            return toProne.stream();
+        while(!toVisit.isEmpty()) {
+            int n = toVisit.pop();
+            for(int relation : RELATIONS) {
+                for(int t : graph.out(relation, n)) {
+                    if(!reachable[t]) {
+                        reachable[t] = true;
+                        toVisit.push(t);
+                    }
+                }
+            }
         }
+        return reachable;
     }
 
+    private static final int[] RELATIONS = {TypeGraph.USES, TypeGraph.REFERENCES};
 }
-
-
@@ -9,6 +9,7 @@
  */
 package com.mrv.yangtools.codegen.impl.postprocessor;
 
+import com.mrv.yangtools.codegen.impl.SwaggerCopier;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
@@ -17,14 +18,10 @@ import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
 import java.util.Map.Entry;
 import java.util.function.Function;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Consumer;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -32,26 +29,74 @@ import java.util.stream.Collectors;
  * This implementation is simple and limited only to the type definitions that are aggregators of references.
  * @author bartosz.michalik@amartus.com
  */
-public abstract class ReplaceDefinitionsProcessor implements Consumer<Swagger> {
+public abstract class ReplaceDefinitionsProcessor implements SwaggerVisitor {
     private final Logger log = LoggerFactory.getLogger(ReplaceDefinitionsProcessor.class);
+    private Map<String, String> replacements = Collections.emptyMap();
+    //replacement keys to find in descriptions, in the order of replacements
+    private KeywordMatcher replacedNames;
+    //first replaced name for each replacement
+    private Map<String, String> replacedBy = Collections.emptyMap();
+    private TypeGraph graph;
+    private SharedOperations operations;
+
     @Override
-    public void accept(Swagger target) {
-        Map<String, String> replacements = optimize(prepareForReplacement(target));
+    public boolean inspectsDocument() {
+        return true;
+    }
+
+    @Override
+    public Set<Kind> restructures() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
 
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
+
+    @Override
+    public boolean concurrent() {
+        return true;
+    }
+
+    @Override
+    public void begin(Swagger target, TypeGraph graph) {
+        this.graph = graph;
+        operations = new SharedOperations(target);
+        replacements = optimize(prepareForReplacement(target));
+        replacedNames = new KeywordMatcher(new ArrayList<>(replacements.keySet()));
+        replacedBy = new HashMap<>();
+        replacements.forEach((from, to) -> replacedBy.putIfAbsent(to, from));
         log.debug("{} replacement found for definitions", replacements.size());
-        log.trace("replacing paths");
-        target.getPaths().values().stream().flatMap(p -> p.getOperations().stream())
-                .forEach(o -> fixOperation(o, replacements));
+    }
 
-        target.getDefinitions().forEach((key, value) -> fixModel(key, value, replacements));
-        replacements.keySet().forEach(r -> {
+    @Override
+    public void visitPath(String name, Path path) {
+        if(replacements.isEmpty()) return;
+        log.trace("replacing path {}", name);
+        operations.change(path, (method, o) -> fixOperation(o, replacements));
+    }
+
+    @Override
+    public void visitDefinition(String name, Model model) {
+        if(replacements.isEmpty()) return;
+        fixModel(name, model, replacements);
+    }
+
+    @Override
+    public void end(Swagger target) {
+        replacements.forEach((r, replacement) -> {
             log.debug("removing {} model from swagger definitions", r);
             target.getDefinitions().remove(r);
+            graph.replace(r, replacement);
         });
+        replacements = Collections.emptyMap();
+        replacedNames = null;
+        replacedBy = Collections.emptyMap();
+        graph = null;
+        operations = null;
     }
 
-
-
     private Map<String, String> optimize(Map<String, String> replacements) {
         Function<String, String> last = s -> {
             String replacement = replacements.get(s);
@@ -69,6 +114,13 @@ public abstract class ReplaceDefinitionsProcessor implements Consumer<Swagger> {
 
     protected abstract Map<String, String> prepareForReplacement(Swagger swagger);
 
+    /**
+     * @return type graph of the document, available while replacements are prepared
+     */
+    protected TypeGraph graph() {
+        return graph;
+    }
+
     private Optional<Model> fixModel(String name, Model m, Map<String, String> replacements) {
 
         if(m != null && replacements.containsKey(name)) {
@@ -82,46 +134,48 @@ public abstract class ReplaceDefinitionsProcessor implements Consumer<Swagger> {
         if(m instanceof ComposedModel) {
             ComposedModel cm = (ComposedModel) m;
             fixComposedModel(cm, replacements);
-            Stream<Entry<String, Property>> propAll = cm.getAllOf().stream()
-                .flatMap(this::properties);
-            fixProperties(propAll, replacements);
+            cm.getAllOf().forEach(of -> fixProperties(of.getProperties(), replacements));
+        }
+        if(m != null) {
+            fixProperties(m.getProperties(), replacements);
         }
-        fixProperties(properties(m), replacements);
         return Optional.empty();
     }
 
-    private Stream<Entry<String, Property>> properties(Model m) {
-        if(m == null) return Stream.empty();
-        return Optional.ofNullable(m.getProperties()).stream()
-            .flatMap(it -> it.entrySet().stream());
-    }
-
-    private void fixProperties(Stream<Entry<String, Property>> properties, Map<String, String> replacements) {
-        properties.forEach(e -> {
-            var key = e.getKey();
-            var value = e.getValue();
-            if (value instanceof RefProperty) {
-                if (fixProperty((RefProperty) value, replacements)) {
-                    log.debug("fixing property {}", key);
-                }
-            } else if (value instanceof ArrayProperty) {
-                Property items = ((ArrayProperty) value).getItems();
-                if (items instanceof RefProperty) {
-                    if (fixProperty((RefProperty) items, replacements)) {
-                        log.debug("fixing property {}", key);
-                    }
-                }
+    /**
+     * Properties might be shared by several models (e.g. structures of {@link com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder}),
+     * so these are not changed but replaced in the model with changed copies
+     * @param properties of a model
+     * @param replacements to apply
+     */
+    private void fixProperties(Map<String, Property> properties, Map<String, String> replacements) {
+        if(properties == null) return;
+        properties.replaceAll((key, value) -> {
+            Property fixed = fixProperty(value, replacements);
+            if(fixed != value) {
+                log.debug("fixing property {}", key);
             }
+            return fixed;
         });
     }
 
-
-    private boolean fixProperty(RefProperty p, Map<String, String> replacements) {
-        if(replacements.containsKey(p.getSimpleRef())) {
-            p.set$ref("#/definitions/" + replacements.get(p.getSimpleRef()));
-            return true;
+    private Property fixProperty(Property p, Map<String, String> replacements) {
+        if(p instanceof RefProperty) {
+            String replacement = replacements.get(((RefProperty) p).getSimpleRef());
+            if(replacement == null) return p;
+            RefProperty fixed = SwaggerCopier.shallowCopyOf((RefProperty) p);
+            fixed.set$ref("#/definitions/" + replacement);
+            return fixed;
+        }
+        if(p instanceof ArrayProperty) {
+            Property items = ((ArrayProperty) p).getItems();
+            Property fixedItems = items instanceof RefProperty ? fixProperty(items, replacements) : items;
+            if(fixedItems == items) return p;
+            ArrayProperty fixed = SwaggerCopier.shallowCopyOf((ArrayProperty) p);
+            fixed.setItems(fixedItems);
+            return fixed;
         }
-        return false;
+        return p;
     }
 
     private void fixComposedModel(ComposedModel m, Map<String, String> replacements) {
@@ -149,13 +203,10 @@ public abstract class ReplaceDefinitionsProcessor implements Consumer<Swagger> {
         operation.getResponses().values()
                 .forEach(r -> fixResponse(r, replacements));
         operation.getParameters().forEach(p -> fixParameter(p, replacements));
-        Optional<Map.Entry<String, String>> rep = replacements.entrySet().stream()
-                .filter(r -> operation.getDescription() != null && operation.getDescription().contains(r.getKey()))
-                .findFirst();
-        if(rep.isPresent()) {
-            log.debug("fixing description for '{}'", rep.get().getKey());
-            Map.Entry<String, String> entry = rep.get();
-            operation.setDescription(operation.getDescription().replace(entry.getKey(), entry.getValue()));
+        String replaced = replacedNames.first(operation.getDescription());
+        if(replaced != null) {
+            log.debug("fixing description for '{}'", replaced);
+            operation.setDescription(operation.getDescription().replace(replaced, replacements.get(replaced)));
         }
 
     }
@@ -168,13 +219,11 @@ public abstract class ReplaceDefinitionsProcessor implements Consumer<Swagger> {
             .ifPresent(m -> {
                 bp.setSchema(m);
                 var nType = toTypeName(m.getReference());
-                var rep = replacements.entrySet().stream()
-                    .filter(e -> e.getValue().equals(nType))
-                    .findFirst();
-                rep.ifPresent(e -> {
-                    var nDesc = bp.getDescription().replace(e.getKey(), e.getValue());
+                var replaced = replacedBy.get(nType);
+                if(replaced != null) {
+                    var nDesc = bp.getDescription().replace(replaced, nType);
                     bp.setDescription(nDesc);
-                });
+                }
 
             });
     }
@@ -0,0 +1,60 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import com.mrv.yangtools.codegen.impl.SwaggerCopier;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Operations referred to by more than one path item, e.g. the GET operation of ODL <code>/config</code>
+ * and <code>/operational</code> paths. Shared operations are never changed in place: a visitor changes a copy
+ * that replaces the operation in the visited path item only. Other path items keep the original,
+ * which also makes it safe to visit them concurrently.
+ * @author bartosz.michalik@amartus.com
+ */
+class SharedOperations {
+    private final Set<Operation> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    SharedOperations(Swagger swagger) {
+        if(swagger.getPaths() == null) return;
+        Set<Operation> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        swagger.getPaths().values().forEach(p -> p.getOperations().forEach(o -> {
+            if(!seen.add(o)) {
+                shared.add(o);
+            }
+        }));
+    }
+
+    /**
+     * Change operations of the path item. A shared operation is changed in a copy, which replaces it
+     * in the path item unless the change left it equal to the original.
+     * @param path to change
+     * @param change of an operation
+     */
+    void change(Path path, BiConsumer<HttpMethod, Operation> change) {
+        path.getOperationMap().forEach((method, operation) -> {
+            if(!shared.contains(operation)) {
+                change.accept(method, operation);
+                return;
+            }
+            Operation copy = SwaggerCopier.copyOf(operation);
+            change.accept(method, copy);
+            if(!copy.equals(operation)) {
+                path.set(method.name().toLowerCase(), copy);
+            }
+        });
+    }
+}
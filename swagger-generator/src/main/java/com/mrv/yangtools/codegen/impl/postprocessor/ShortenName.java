@@ -41,7 +41,8 @@ public class ShortenName extends ReplaceDefinitionsProcessor {
                     String[] split = e.getKey().split("\\.");
                     if (split.length > 0) {
                         String tmp = namePrefix + "." + split[split.length - 1];
-                        if (!swagger.getDefinitions().containsKey(tmp)) {
+                        //short name of another definition is not reused
+                        if (!swagger.getDefinitions().containsKey(tmp) && !newKeys.containsKey(tmp)) {
                             newKey = tmp;
                             newKeys.put(newKey, e.getValue());
                         }
@@ -14,111 +14,166 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.mrv.yangtools.codegen.impl.ModelUtils.isAugmentation;
-import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper.getReferences;
 
 /**
  * @author bartosz.michalik@amartus.com
  */
-public class SingleParentInheritenceModel implements Consumer<Swagger> {
+public class SingleParentInheritenceModel implements SwaggerVisitor {
     private static final Logger log = LoggerFactory.getLogger(SingleParentInheritenceModel.class);
+    private Swagger swagger;
+    private TypeGraph graph;
+    private Worker worker;
+    private Map<String, Model> replaced;
+
     @Override
-    public void accept(Swagger swagger) {
+    public Set<Kind> visits() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
 
-        Worker worker = new Worker(buildHierarchy(swagger), swagger);
+    @Override
+    public Set<Kind> restructures() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
 
-        swagger.getDefinitions().entrySet().stream()
-                .filter(e -> worker.getReferencing(e.getKey()).size() > 1)
-                .map(e -> {
+    @Override
+    public boolean inspectsDocument() {
+        return true;
+    }
 
-                    worker.compute(e.getKey());
-                    String parent = worker.getParent();
-                    Set<String> toUnpack = worker.getToUnpack();
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
 
+    @Override
+    public void begin(Swagger swagger, TypeGraph graph) {
+        this.swagger = swagger;
+        this.graph = graph;
+        this.worker = new Worker(graph, swagger);
+        this.replaced = new LinkedHashMap<>();
+    }
 
-                    ComposedModel model = new ComposedModel();
+    @Override
+    public void visitDefinition(String name, Model definition) {
+        if(worker.getReferencing(name).size() <= 1) return;
 
-                    model.setParent(new RefModel(parent));
+        worker.compute(name);
+        String parent = worker.getParent();
+        Set<String> toUnpack = worker.getToUnpack();
 
-                    ModelImpl impl = new ModelImpl();
 
-                    toUnpack.forEach(u -> {
-                        log.debug("Unpacking {}", u);
-                        Model m = swagger.getDefinitions().get(u);
-                        if(m instanceof ModelImpl) {
-                            copyAttributes(impl, (ModelImpl) m);
-                        } else if(m instanceof ComposedModel) {
-                            Optional<ModelImpl> tU = ((ComposedModel) m).getAllOf().stream().filter(x -> x instanceof ModelImpl).map(x -> (ModelImpl) x)
-                                    .findFirst();
-                            tU.ifPresent(model1 -> copyAttributes(impl, model1));
-                        }
-                    });
+        ComposedModel model = new ComposedModel();
 
-                    model.setChild(impl);
+        model.setParent(new RefModel(parent));
 
+        ModelImpl impl = new ModelImpl();
 
-                    return new AbstractMap.SimpleEntry<String, Model>(e.getKey(), model);
+        toUnpack.forEach(u -> {
+            log.debug("Unpacking {}", u);
+            Model m = swagger.getDefinitions().get(u);
+            if(m instanceof ModelImpl) {
+                copyAttributes(impl, (ModelImpl) m);
+            } else if(m instanceof ComposedModel) {
+                Optional<ModelImpl> tU = ((ComposedModel) m).getAllOf().stream().filter(x -> x instanceof ModelImpl).map(x -> (ModelImpl) x)
+                        .findFirst();
+                tU.ifPresent(model1 -> copyAttributes(impl, model1));
+            }
+        });
 
-        }).forEach(e -> swagger.addDefinition(e.getKey(), e.getValue()));
+        model.setChild(impl);
 
+        swagger.addDefinition(name, model);
+        //graph is updated at the end, as the hierarchy is computed for the original models
+        replaced.put(name, model);
+    }
 
+    @Override
+    public void end(Swagger swagger) {
+        replaced.forEach(graph::update);
+        this.swagger = null;
+        this.graph = null;
+        this.worker = null;
+        this.replaced = null;
     }
 
+    /**
+     * Computes flattened hierarchies of types. The hierarchy of each type is computed once, from the memoized hierarchies
+     * of its parents, so types sharing ancestors do not expand them again.
+     */
     private static class Worker {
-        private final Map<String, TypeNode> hierarchy;
+        private final TypeGraph hierarchy;
         private final Swagger swagger;
+        private final Map<String, List<String>> flattened = new HashMap<>();
+        private final Map<String, Integer> subtypes = new HashMap<>();
         private Set<String> toUnpack;
         private String parent;
 
-        private Worker(Map<String, TypeNode> hierarchy, Swagger swagger) {
+        private Worker(TypeGraph hierarchy, Swagger swagger) {
             this.hierarchy = hierarchy;
             this.swagger = swagger;
         }
 
-        private Set<TypeNode> getReferencing(String type) {
-            return hierarchy.get(type).getReferencing();
+        private List<String> getReferencing(String type) {
+            return hierarchy.references(type);
         }
 
         private void compute(String type) {
 
-            TypeNode node = hierarchy.get(type);
-
-            Set<TypeNode> typesToUnpack = getAllInHierarchy(node).collect(Collectors.toSet());
-            TypeNode parentType = findParent(typesToUnpack);
+            Set<String> typesToUnpack = new LinkedHashSet<>(getAllInHierarchy(type));
+            String parentType = findParent(typesToUnpack);
             typesToUnpack.remove(parentType);
 
-            toUnpack = typesToUnpack.stream().map(t -> t.type).collect(Collectors.toSet());
-            parent = parentType.type;
+            toUnpack = new HashSet<>(typesToUnpack);
+            parent = parentType;
 
 
         }
 
-        private TypeNode findParent(Set<TypeNode> typesToUnpack) {
-            return typesToUnpack.stream().reduce((a,b) -> a.getReferencedBy().size() > b.getReferencedBy().size() ? a : b).get();
+        private String findParent(Set<String> typesToUnpack) {
+            return typesToUnpack.stream()
+                    .map(t -> new AbstractMap.SimpleEntry<>(t, subtypes.computeIfAbsent(t, x -> hierarchy.referencedBy(x).size())))
+                    .reduce((a,b) -> a.getValue() > b.getValue() ? a : b).get().getKey();
         }
 
-        Stream<TypeNode> getAllInHierarchy(TypeNode node) {
-            if(!node.getReferencing().isEmpty()) return Stream.concat(Stream.of(node), sorted(node.getReferencing()).flatMap(this::getAllInHierarchy));
-            return Stream.of(node);
+        /**
+         * @param type to flatten
+         * @return type followed by flattened hierarchies of its parents, without repetitions
+         */
+        List<String> getAllInHierarchy(String type) {
+            List<String> result = flattened.get(type);
+            if(result != null) return result;
+            //guard against cycles in all-of
+            flattened.put(type, Collections.singletonList(type));
+
+            List<String> referencing = getReferencing(type);
+            if(referencing.isEmpty()) {
+                result = Collections.singletonList(type);
+            } else {
+                Set<String> all = new LinkedHashSet<>();
+                all.add(type);
+                sorted(referencing).forEach(r -> all.addAll(getAllInHierarchy(r)));
+                result = List.copyOf(all);
+            }
+            flattened.put(type, result);
+            return result;
         }
 
-        private Stream<TypeNode> sorted(Set<TypeNode> referencing) {
-            TreeSet<TypeNode> sorted = new TreeSet<>((a, b) -> {
-                Model modelA = swagger.getDefinitions().get(a.type);
-                Model modelB = swagger.getDefinitions().get(b.type);
+        private Stream<String> sorted(List<String> referencing) {
+            TreeSet<String> sorted = new TreeSet<>((a, b) -> {
+                Model modelA = swagger.getDefinitions().get(a);
+                Model modelB = swagger.getDefinitions().get(b);
                 boolean aAugmentation = isAugmentation(modelA);
                 boolean bAugmentation = isAugmentation(modelB);
 
                 if(aAugmentation) {
-                    if(bAugmentation) return a.type.compareTo(b.type);
+                    if(bAugmentation) return a.compareTo(b);
                     return 1;
                 }
                 if(bAugmentation) return -1;
-                return a.type.compareTo(b.type);
+                return a.compareTo(b);
             });
             sorted.addAll(referencing);
             return sorted.stream();
@@ -133,18 +188,6 @@ public class SingleParentInheritenceModel implements Consumer<Swagger> {
         }
     }
 
-    private Map<String, TypeNode> buildHierarchy(Swagger swagger) {
-        TypesUsageTreeBuilder typesUsageTreeBuilder = new TypesUsageTreeBuilder();
-
-        swagger.getDefinitions().forEach((type, value) -> {
-            Stream<String> references = getReferences(type, value);
-            typesUsageTreeBuilder.referencing(type, references);
-        });
-
-        return typesUsageTreeBuilder.build();
-    }
-
-
     private void copyAttributes(ModelImpl target, ModelImpl source) {
         //TODO may require property copying and moving x- extensions down to properties
         if(source.getProperties() != null)
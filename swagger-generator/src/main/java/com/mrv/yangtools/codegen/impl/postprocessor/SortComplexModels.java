@@ -10,29 +10,42 @@
 package com.mrv.yangtools.codegen.impl.postprocessor;
 
 import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
 import io.swagger.models.RefModel;
-import io.swagger.models.Swagger;
 
-import java.util.function.Consumer;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Sort all-of in a way code generators are expecting it
  *
  * @author bartosz.michalik@amartus.com
  */
-public class SortComplexModels implements Consumer<Swagger> {
+public class SortComplexModels implements SwaggerVisitor {
     @Override
-    public void accept(Swagger swagger) {
-        swagger.getDefinitions().entrySet().stream().filter(e -> e.getValue() instanceof ComposedModel)
-                .forEach(e -> {
-                    ComposedModel m = (ComposedModel) e.getValue();
+    public Set<Kind> visits() {
+        return EnumSet.of(Kind.DEFINITIONS);
+    }
 
-                    sortModels(m);
+    @Override
+    public boolean keepsTypeGraph() {
+        return true;
+    }
 
-                });
+    @Override
+    public boolean concurrent() {
+        return true;
+    }
+
+    @Override
+    public void visitDefinition(String name, Model model) {
+        if(model instanceof ComposedModel) {
+            sortModels((ComposedModel) model);
+        }
     }
 
     private void sortModels(ComposedModel m) {
+        //references first, ordered by name, other models keep their order
         m.getAllOf().sort((a,b) -> {
             if(a instanceof RefModel) {
                 if(b instanceof RefModel) {
@@ -40,7 +53,7 @@ public class SortComplexModels implements Consumer<Swagger> {
                 }
                 return -1;
             }
-            return 1;
+            return b instanceof RefModel ? 1 : 0;
         });
     }
 }
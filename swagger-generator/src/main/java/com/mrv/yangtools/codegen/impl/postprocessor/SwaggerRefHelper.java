@@ -82,6 +82,21 @@ public class SwaggerRefHelper {
         return Stream.empty();
     }
 
+    /**
+     * Definitions used by path operations as body or response
+     * @param path to check
+     * @return referenced definitions
+     */
+    public static Stream<String> getFromPath(Path path) {
+        return path.getOperations().stream().flatMap(o -> {
+            String bodyRef = getFromBody(o);
+            if(bodyRef != null) {
+                return Stream.concat(Stream.of(bodyRef), getFromResponses(o));
+            }
+            return getFromResponses(o);
+        });
+    }
+
     public static Stream<String> getFromResponses(Operation o ) {
         return o.getResponses().entrySet().stream().map(e -> getFromResponse(o, e.getKey())).filter(Objects::nonNull);
     }
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Postprocessor that works on paths and definitions one by one, so it can share traversals with other visitors
+ * in the {@link PostProcessorPipeline}. For a single traversal each visitor is called with:
+ * <ol>
+ *     <li>{@link #begin(Swagger, TypeGraph)}</li>
+ *     <li>{@link #visitPath(String, Path)} for each path, if {@link Kind#PATHS} is visited</li>
+ *     <li>{@link #visitDefinition(String, Model)} for each definition, if {@link Kind#DEFINITIONS} is visited</li>
+ *     <li>{@link #end(Swagger)}</li>
+ * </ol>
+ * A visitor sees each element after all visitors before it in the pipeline processed that element.
+ * The elements that are visited are the ones that existed when the traversal started.
+ * @author bartosz.michalik@amartus.com
+ */
+public interface SwaggerVisitor extends Consumer<Swagger> {
+
+    enum Kind { PATHS, DEFINITIONS }
+
+    /**
+     * Kinds of elements visited (or read) by this visitor
+     * @return kinds of elements
+     */
+    default Set<Kind> visits() {
+        return EnumSet.allOf(Kind.class);
+    }
+
+    /**
+     * Kinds of elements which are added, removed or replaced by this visitor.
+     * Visitors that visit these kinds cannot share the traversal with this visitor if they are after it in the pipeline.
+     * @return kinds of elements
+     */
+    default Set<Kind> restructures() {
+        return EnumSet.noneOf(Kind.class);
+    }
+
+    /**
+     * Whether {@link #begin(Swagger, TypeGraph)} inspects the whole document. Such visitor starts a new traversal,
+     * so all preceding postprocessors are complete before it begins.
+     * @return true if a new traversal is required
+     */
+    default boolean inspectsDocument() {
+        return false;
+    }
+
+    /**
+     * Whether the visitor keeps the {@link TypeGraph} of the pipeline valid, i.e. it does not change references between
+     * elements or reports all such changes to the graph. If not, the graph is rebuilt after the visitor
+     * and no other visitor shares traversal with visitors that follow it.
+     * @return true if the type graph remains valid
+     */
+    default boolean keepsTypeGraph() {
+        return false;
+    }
+
+    /**
+     * Whether {@link #visitPath(String, Path)} and {@link #visitDefinition(String, Model)} can be called concurrently
+     * for different elements, i.e. the visitor changes only the visited element and keeps other state thread-safe.
+     * Only traversals in which all visitors are concurrent are run in parallel by a parallel {@link PostProcessorPipeline}.
+     * @return true if elements can be visited in parallel
+     */
+    default boolean concurrent() {
+        return false;
+    }
+
+    /**
+     * Start traversal
+     * @param swagger document
+     * @param graph references in the document, shared by all visitors in the pipeline
+     */
+    default void begin(Swagger swagger, TypeGraph graph) {
+        begin(swagger);
+    }
+
+    default void begin(Swagger swagger) {}
+
+    default void visitPath(String name, Path path) {}
+
+    default void visitDefinition(String name, Model model) {}
+
+    default void end(Swagger swagger) {}
+
+    @Override
+    default void accept(Swagger swagger) {
+        new PostProcessorPipeline().append(this).accept(swagger);
+    }
+}
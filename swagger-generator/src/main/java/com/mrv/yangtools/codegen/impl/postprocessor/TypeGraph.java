@@ -0,0 +1,443 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.mrv.yangtools.codegen.impl.postprocessor.SwaggerRefHelper.*;
+
+/**
+ * Graph of references between definitions and from paths to definitions of a swagger document.
+ * It is built lazily on first query from the current state of the document. Nodes are numbered and edges
+ * are kept in compressed (offsets + targets) arrays for three relations:
+ * <ul>
+ *     <li>{@link #USES} - definition uses another one as a type of its property</li>
+ *     <li>{@link #REFERENCES} - definition references another one in its all-of</li>
+ *     <li>{@link #ROOTS} - path operations use definition as body or response</li>
+ * </ul>
+ * Postprocessors that change the document report their changes with {@link #update(String, Model)},
+ * {@link #updatePath(String, Path)}, {@link #replace(String, String)}, {@link #remove(String)}
+ * and {@link #removePath(String)}, so the graph is never rebuilt. Changes reported before the graph is built are ignored,
+ * as the graph is built from the already changed document. The graph is not thread-safe.
+ * @author bartosz.michalik@amartus.com
+ */
+public class TypeGraph {
+    private static final Logger log = LoggerFactory.getLogger(TypeGraph.class);
+
+    static final int USES = 0;
+    static final int REFERENCES = 1;
+    static final int ROOTS = 2;
+    private static final int RELATIONS = 3;
+    private static final int[] EMPTY = new int[0];
+
+    private final Swagger swagger;
+    private boolean built;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names;
+    private boolean[] path;
+    private boolean[] defined;
+    private boolean[] removed;
+    private int[] alias;
+    private int size;
+    //marks used to collect distinct nodes
+    private int[] outMarks;
+    private int[] inMarks;
+    private int outStamp;
+    private int inStamp;
+
+    //nodes with ids below that are covered by compressed arrays
+    private int compressed;
+    private final int[][] outOffsets = new int[RELATIONS][];
+    private final int[][] outTargets = new int[RELATIONS][];
+    private final int[][] inOffsets = new int[RELATIONS][];
+    private final int[][] inSources = new int[RELATIONS][];
+
+    //changes after the graph was built
+    private final List<Map<Integer, int[]>> outUpdated = new ArrayList<>();
+    private final List<Map<Integer, IntList>> inAdded = new ArrayList<>();
+    private final Map<Integer, IntList> aliasedBy = new HashMap<>();
+
+    public TypeGraph(Swagger swagger) {
+        this.swagger = Objects.requireNonNull(swagger);
+    }
+
+    /**
+     * Drop graph content. It is built again from the document on the next query.
+     */
+    public void invalidate() {
+        built = false;
+    }
+
+    /**
+     * @param type definition name
+     * @return true if type is defined in the document
+     */
+    public boolean contains(String type) {
+        build();
+        Integer id = ids.get(type);
+        return id != null && isType(id);
+    }
+
+    /**
+     * @param type definition name
+     * @return definitions referenced in all-of of the type
+     */
+    public List<String> references(String type) {
+        return toNames(out(REFERENCES, node(type)));
+    }
+
+    /**
+     * @param type definition name
+     * @return definitions that reference the type in their all-of
+     */
+    public List<String> referencedBy(String type) {
+        return toNames(in(REFERENCES, node(type)));
+    }
+
+    /**
+     * @param type definition name
+     * @return definitions used by type properties
+     */
+    public List<String> uses(String type) {
+        return toNames(out(USES, node(type)));
+    }
+
+    /**
+     * @param type definition name
+     * @return definitions that use the type in their properties
+     */
+    public List<String> usedBy(String type) {
+        return toNames(in(USES, node(type)));
+    }
+
+    /**
+     * @param type definition name
+     * @return paths that use the type as a body or response
+     */
+    public List<String> paths(String type) {
+        return toNames(in(ROOTS, node(type)));
+    }
+
+    /**
+     * Report new or modified definition
+     * @param type definition name
+     * @param model current definition
+     */
+    public void update(String type, Model model) {
+        if(!built) return;
+        int id = id(type);
+        defined[id] = true;
+        removed[id] = false;
+        setOut(USES, id, getUses(type, model));
+        setOut(REFERENCES, id, getReferences(type, model));
+    }
+
+    /**
+     * Report new or modified path
+     * @param name path
+     * @param value current path
+     */
+    public void updatePath(String name, Path value) {
+        if(!built) return;
+        int id = id(name);
+        path[id] = true;
+        removed[id] = false;
+        setOut(ROOTS, id, getFromPath(value));
+    }
+
+    /**
+     * Report removed definition
+     * @param type definition name
+     */
+    public void remove(String type) {
+        if(!built) return;
+        Integer id = ids.get(type);
+        if(id != null) removed[id] = true;
+    }
+
+    /**
+     * Report removed path
+     * @param name path
+     */
+    public void removePath(String name) {
+        remove(name);
+    }
+
+    /**
+     * Report that all references to one definition were replaced with references to another one
+     * and that the replaced definition was removed
+     * @param from replaced definition name
+     * @param to replacement definition name
+     */
+    public void replace(String from, String to) {
+        if(!built) return;
+        int f = id(from);
+        int t = id(to);
+        if(!isType(t) && swagger.getDefinitions() != null && swagger.getDefinitions().containsKey(to)) {
+            update(to, swagger.getDefinitions().get(to));
+        }
+        if(find(t) == f) return;
+        alias[f] = t;
+        removed[f] = true;
+        aliasedBy.computeIfAbsent(t, x -> new IntList()).add(f);
+    }
+
+    void build() {
+        if(built) return;
+        long start = System.currentTimeMillis();
+        ids.clear();
+        outUpdated.clear();
+        inAdded.clear();
+        aliasedBy.clear();
+        for(int r = 0; r < RELATIONS; r++) {
+            outUpdated.add(new HashMap<>());
+            inAdded.add(new HashMap<>());
+        }
+        size = 0;
+        names = new String[16];
+        path = new boolean[16];
+        defined = new boolean[16];
+        removed = new boolean[16];
+        alias = new int[16];
+        outMarks = new int[16];
+        inMarks = new int[16];
+
+        final Map<String, Model> definitions = swagger.getDefinitions() == null ? Collections.emptyMap() : swagger.getDefinitions();
+        final Map<String, Path> paths = swagger.getPaths() == null ? Collections.emptyMap() : swagger.getPaths();
+
+        definitions.keySet().forEach(d -> {
+            int id = id(d);
+            defined[id] = true;
+        });
+        paths.keySet().forEach(p -> {
+            int id = id(p);
+            path[id] = true;
+        });
+
+        IntList[] sources = new IntList[RELATIONS];
+        IntList[] targets = new IntList[RELATIONS];
+        for(int r = 0; r < RELATIONS; r++) {
+            sources[r] = new IntList();
+            targets[r] = new IntList();
+        }
+
+        definitions.forEach((type, model) -> {
+            int id = ids.get(type);
+            getUses(type, model).forEach(u -> {
+                sources[USES].add(id);
+                targets[USES].add(id(u));
+            });
+            getReferences(type, model).forEach(u -> {
+                sources[REFERENCES].add(id);
+                targets[REFERENCES].add(id(u));
+            });
+        });
+        paths.forEach((name, value) -> {
+            int id = ids.get(name);
+            getFromPath(value).forEach(u -> {
+                sources[ROOTS].add(id);
+                targets[ROOTS].add(id(u));
+            });
+        });
+
+        compressed = size;
+        for(int r = 0; r < RELATIONS; r++) {
+            outOffsets[r] = new int[size + 1];
+            outTargets[r] = new int[sources[r].size];
+            inOffsets[r] = new int[size + 1];
+            inSources[r] = new int[sources[r].size];
+            compress(sources[r], targets[r], outOffsets[r], outTargets[r]);
+            compress(targets[r], sources[r], inOffsets[r], inSources[r]);
+        }
+        built = true;
+        log.debug("type graph with {} nodes built in {} ms", size, System.currentTimeMillis() - start);
+    }
+
+    private static void compress(IntList from, IntList to, int[] offsets, int[] values) {
+        for(int i = 0; i < from.size; i++) {
+            offsets[from.values[i] + 1]++;
+        }
+        for(int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for(int i = 0; i < from.size; i++) {
+            values[next[from.values[i]]++] = to.values[i];
+        }
+    }
+
+    int size() {
+        build();
+        return size;
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * @param id node
+     * @return true if node is a definition present in the document
+     */
+    boolean isType(int id) {
+        return defined[id] && !removed[id];
+    }
+
+    /**
+     * @param id node
+     * @return true if node is a path present in the document
+     */
+    boolean isPath(int id) {
+        return path[id] && !removed[id];
+    }
+
+    int node(String name) {
+        build();
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Distinct targets of the node, with replaced definitions resolved and removed definitions skipped
+     * @param relation one of {@link #USES}, {@link #REFERENCES}, {@link #ROOTS}
+     * @param id node
+     * @return targets
+     */
+    int[] out(int relation, int id) {
+        build();
+        if(id < 0 || removed[id]) return EMPTY;
+        IntList result = new IntList();
+        outStamp++;
+        int[] updated = outUpdated.get(relation).get(id);
+        if(updated != null) {
+            for(int t : updated) addTarget(result, t);
+        } else if(id < compressed) {
+            for(int i = outOffsets[relation][id]; i < outOffsets[relation][id + 1]; i++) {
+                addTarget(result, outTargets[relation][i]);
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Distinct sources of the node, i.e. nodes for which {@link #out(int, int)} contains given one
+     * @param relation one of {@link #USES}, {@link #REFERENCES}, {@link #ROOTS}
+     * @param id node
+     * @return sources
+     */
+    int[] in(int relation, int id) {
+        build();
+        if(id < 0 || removed[id]) return EMPTY;
+        IntList candidates = new IntList();
+        collectIn(relation, id, candidates);
+        IntList result = new IntList();
+        int stamp = ++inStamp;
+        for(int i = 0; i < candidates.size; i++) {
+            int s = candidates.values[i];
+            if(inMarks[s] == stamp) continue;
+            inMarks[s] = stamp;
+            if(!removed[s] && contains(out(relation, s), id)) {
+                result.add(s);
+            }
+        }
+        return result.toArray();
+    }
+
+    private void collectIn(int relation, int id, IntList candidates) {
+        if(id < compressed) {
+            for(int i = inOffsets[relation][id]; i < inOffsets[relation][id + 1]; i++) {
+                candidates.add(inSources[relation][i]);
+            }
+        }
+        IntList added = inAdded.get(relation).get(id);
+        if(added != null) {
+            for(int i = 0; i < added.size; i++) candidates.add(added.values[i]);
+        }
+        IntList aliases = aliasedBy.get(id);
+        if(aliases != null) {
+            for(int i = 0; i < aliases.size; i++) collectIn(relation, aliases.values[i], candidates);
+        }
+    }
+
+    private void addTarget(IntList result, int target) {
+        int t = find(target);
+        if(!removed[t] && outMarks[t] != outStamp) {
+            outMarks[t] = outStamp;
+            result.add(t);
+        }
+    }
+
+    private int find(int id) {
+        while(alias[id] >= 0) id = alias[id];
+        return id;
+    }
+
+    private void setOut(int relation, int id, Stream<String> targets) {
+        int[] out = targets.mapToInt(this::id).distinct().toArray();
+        outUpdated.get(relation).put(id, out);
+        for(int t : out) {
+            inAdded.get(relation).computeIfAbsent(t, x -> new IntList()).add(id);
+        }
+    }
+
+    private int id(String name) {
+        Integer id = ids.get(name);
+        if(id != null) return id;
+        if(size == names.length) {
+            int capacity = size * 2;
+            names = Arrays.copyOf(names, capacity);
+            path = Arrays.copyOf(path, capacity);
+            defined = Arrays.copyOf(defined, capacity);
+            removed = Arrays.copyOf(removed, capacity);
+            alias = Arrays.copyOf(alias, capacity);
+            outMarks = Arrays.copyOf(outMarks, capacity);
+            inMarks = Arrays.copyOf(inMarks, capacity);
+        }
+        names[size] = name;
+        alias[size] = -1;
+        ids.put(name, size);
+        return size++;
+    }
+
+    private List<String> toNames(int[] nodes) {
+        List<String> result = new ArrayList<>(nodes.length);
+        for(int n : nodes) result.add(names[n]);
+        return result;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for(int v : values) {
+            if(v == value) return true;
+        }
+        return false;
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if(size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == 0 ? EMPTY : Arrays.copyOf(values, size);
+        }
+    }
+}
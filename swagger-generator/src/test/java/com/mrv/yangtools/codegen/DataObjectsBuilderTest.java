@@ -17,6 +17,8 @@ import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
 import com.mrv.yangtools.common.ContextHelper;
 import io.swagger.models.Model;
 import io.swagger.models.Swagger;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +33,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
 
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
@@ -65,6 +69,28 @@ public class DataObjectsBuilderTest {
         verify(swagger).addDefinition(eq("with.groupings.groupingroot.C1"), any(Model.class));
     }
 
+    @Test
+    public void testUnpackingSharesStructures() {
+        //having
+        UnpackingDataObjectsBuilder builder = new UnpackingDataObjectsBuilder(ctx, new Swagger(), new AnnotatingTypeConverter(ctx));
+        ContainerSchemaNode root = container("grouping-root");
+        ContainerSchemaNode child = container("grouping-child1");
+        builder.processModule(groupings);
+        //when
+        ObjectProperty first = (ObjectProperty) builder.build(root).getProperties().get("grouping-child1");
+        ObjectProperty second = (ObjectProperty) builder.build(root).getProperties().get("grouping-child1");
+        builder.build(child);
+        //then
+        assertSame(first.getProperties(), second.getProperties());
+        assertThrows(UnsupportedOperationException.class, () -> first.getProperties().clear());
+        assertTrue(builder.build(root).getProperties().get("grouping-child1") instanceof RefProperty);
+    }
+
+    private ContainerSchemaNode container(String name) {
+        return (ContainerSchemaNode) DataNodeHelper.stream(groupings).filter(n -> n.getQName().getLocalName().equals(name))
+                .findFirst().orElseThrow(IllegalArgumentException::new);
+    }
+
     @Test
     public void testNameGroupingsUnpacking() {
         //having
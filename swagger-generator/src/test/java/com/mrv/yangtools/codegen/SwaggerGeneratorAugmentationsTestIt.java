@@ -103,6 +103,16 @@ public class SwaggerGeneratorAugmentationsTestIt extends AbstractItTest {
         assertEquals(1, augmented.size());
     }
 
+    @org.junit.Test
+    public void testParallelModelsSameAsSequential() {
+        swaggerFor(p -> p.getParent().getFileName().toString().equals("aug-group-ex"));
+        Map<String, Model> sequential = swagger.getDefinitions();
+
+        swaggerFor(p -> p.getParent().getFileName().toString().equals("aug-group-ex"), SwaggerGenerator::parallelModels);
+
+        assertEquals(sequential, swagger.getDefinitions());
+    }
+
     @org.junit.Test
     public void testInheritenceWithAugmentation() {
         swaggerFor(p -> p.getParent().getFileName().toString().equals("inheritence-with-augmentation"));
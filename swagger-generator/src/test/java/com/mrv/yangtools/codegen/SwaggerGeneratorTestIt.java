@@ -11,18 +11,47 @@
 
 package com.mrv.yangtools.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrv.yangtools.codegen.impl.ModuleSplitter;
+import com.mrv.yangtools.codegen.impl.SizeEstimate;
+import com.mrv.yangtools.codegen.impl.path.odl.ODLPathHandlerBuilder;
+import com.mrv.yangtools.codegen.impl.path.rfc8040.PathHandlerBuilder;
+import com.mrv.yangtools.codegen.impl.postprocessor.PathPrunner;
+import com.mrv.yangtools.codegen.impl.postprocessor.RemoveUnusedDefinitions;
+import com.mrv.yangtools.codegen.impl.postprocessor.Rfc4080PayloadWrapper;
+import com.mrv.yangtools.codegen.impl.postprocessor.ShortenName;
 import com.mrv.yangtools.common.ContextHelper;
 import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.Path;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.parameters.RefParameter;
 import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -65,6 +94,278 @@ public class SwaggerGeneratorTestIt extends AbstractItTest {
 
 
 
+    @Test
+    public void testLazyModelsSameAsEager() {
+        swaggerFor("with-groupings.yang");
+        Set<String> eager = swagger.getDefinitions().keySet();
+
+        swaggerFor("with-groupings.yang", SwaggerGenerator::lazyModels);
+
+        assertEquals(eager, swagger.getDefinitions().keySet());
+    }
+
+    @Test
+    public void testLazyModelsForPrunedPaths() {
+        swaggerFor("duplicated-names.yang", g -> g.appendPostProcessor(new PathPrunner().prunePath("/data/stats")));
+        int eager = swagger.getDefinitions().size();
+        swaggerFor("duplicated-names.yang", g -> g.appendPostProcessor(new PathPrunner().prunePath("/data/stats"))
+                .appendPostProcessor(new RemoveUnusedDefinitions()));
+        Set<String> used = swagger.getDefinitions().keySet();
+        assertTrue(used.size() < eager);
+
+        swaggerFor("duplicated-names.yang", g -> g.lazyModels().prependPostProcessor(new PathPrunner().prunePath("/data/stats")));
+
+        assertEquals(used, swagger.getDefinitions().keySet());
+        assertThat(swagger.getPaths().keySet(), not(hasItem(startsWith("/data/stats"))));
+    }
+
+    @Test
+    public void testMultipleOutputs() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("choice.yang"));
+        Rfc4080PayloadWrapper wrapper = new Rfc4080PayloadWrapper();
+        StringWriter yaml = new StringWriter();
+        StringWriter json = new StringWriter();
+        StringWriter wrappedYaml = new StringWriter();
+        StringWriter wrappedJson = new StringWriter();
+
+        //when
+        new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate(
+                new SwaggerGenerator.Output(SwaggerGenerator.Format.YAML, yaml),
+                new SwaggerGenerator.Output(SwaggerGenerator.Format.JSON, json),
+                new SwaggerGenerator.Output(SwaggerGenerator.Format.YAML, wrappedYaml).postprocessor(wrapper),
+                new SwaggerGenerator.Output(SwaggerGenerator.Format.JSON, wrappedJson).postprocessor(wrapper));
+
+        //then
+        assertEquals(generate(ctx, SwaggerGenerator.Format.YAML, false), yaml.toString());
+        assertEquals(generate(ctx, SwaggerGenerator.Format.JSON, false), json.toString());
+        assertEquals(generate(ctx, SwaggerGenerator.Format.YAML, true), wrappedYaml.toString());
+        assertEquals(generate(ctx, SwaggerGenerator.Format.JSON, true), wrappedJson.toString());
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPerModuleOutput() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        java.nio.file.Path dir = folder.getRoot().toPath();
+
+        //when
+        List<java.nio.file.Path> written = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .format(SwaggerGenerator.Format.JSON).generatePerModule(dir);
+
+        //then
+        Set<String> files = written.stream().map(f -> f.getFileName().toString()).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("base.json", "ext1.json", ModuleSplitter.SHARED + ".json")), files);
+        int external = 0;
+        for(java.nio.file.Path f : written) {
+            List<String> refs = Json.mapper().readTree(f.toFile()).findValuesAsText("$ref");
+            for(String ref : refs) {
+                if(!ref.startsWith("#")) external++;
+                String file = ref.startsWith("#") ? f.getFileName().toString() : ref.substring(0, ref.indexOf('#'));
+                JsonNode target = Json.mapper().readTree(dir.resolve(file).toFile())
+                        .at(ref.substring(ref.indexOf('#') + 1));
+                assertFalse(ref + " in " + f.getFileName() + " does not resolve", target.isMissingNode());
+            }
+        }
+        assertTrue(external > 0);
+
+        //when
+        List<java.nio.file.Path> rewritten = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .format(SwaggerGenerator.Format.JSON).generatePerModule(dir);
+
+        //then
+        assertTrue(rewritten.isEmpty());
+    }
+
+    @Test
+    public void testReadBack() throws Exception {
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        for(SwaggerGenerator.Format format : SwaggerGenerator.Format.values()) {
+            //when
+            String generated = generate(ctx, format, false);
+            Swagger swagger = SwaggerGenerator.read(new StringReader(generated), format);
+
+            //then
+            ObjectMapper mapper = format == SwaggerGenerator.Format.JSON ? Json.mapper() : Yaml.mapper();
+            assertEquals(format + " document read back differs", mapper.readTree(generated), Json.mapper().valueToTree(swagger));
+        }
+    }
+
+    @Test
+    public void testReadBackYamlScalarsAsWritten() throws Exception {
+        //given document edited by hand, with plain scalars that YAML 1.1 resolves to dates and numbers
+        String yaml = "swagger: \"2.0\"\n" +
+                "info:\n" +
+                "  version: 2024-01-01\n" +
+                "  title: test\n" +
+                "definitions:\n" +
+                "  duration:\n" +
+                "    type: string\n" +
+                "    enum:\n" +
+                "    - 1:30\n";
+
+        //when
+        Swagger swagger = SwaggerGenerator.read(new StringReader(yaml), SwaggerGenerator.Format.YAML);
+
+        //then
+        assertEquals("2024-01-01", swagger.getInfo().getVersion());
+        assertEquals(Collections.singletonList("1:30"), ((ModelImpl) swagger.getDefinitions().get("duration")).getEnum());
+    }
+
+    @Test
+    public void testOutputIndependentOfModuleOrder() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        List<org.opendaylight.yangtools.yang.model.api.Module> modules = new ArrayList<>(ctx.getModules());
+        List<org.opendaylight.yangtools.yang.model.api.Module> reversed = new ArrayList<>(modules);
+        Collections.reverse(reversed);
+
+        //when
+        StringWriter first = new StringWriter();
+        new SwaggerGenerator(ctx, modules).defaultConfig().generate(first);
+        StringWriter second = new StringWriter();
+        new SwaggerGenerator(ctx, reversed).defaultConfig().generate(second);
+
+        //then
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    public void testShortenNameKeepsCollidingDefinitions() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("inheritence-with-augmentation"));
+
+        //when
+        Swagger swagger = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .appendPostProcessor(new ShortenName("base")).generate();
+
+        //then
+        assertThat(swagger.getDefinitions().keySet(), hasItems("base.Job", "base.jobattr.Job"));
+        assertNotNull(swagger.getDefinitions().get("base.Job"));
+        assertNotEquals(swagger.getDefinitions().get("base.Job"), swagger.getDefinitions().get("base.jobattr.Job"));
+    }
+
+    @Test
+    public void testEstimate() throws Exception {
+        for(String fixture : Arrays.asList("bug_15", "read-only.yang")) {
+            EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals(fixture)
+                    || p.getParent().getFileName().toString().equals(fixture));
+            for(String handler : Arrays.asList("RESTCONF", "ODL", "ODL without full CRUD")) {
+                //given
+                Supplier<SwaggerGenerator> configured = () -> {
+                    SwaggerGenerator g = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().format(SwaggerGenerator.Format.JSON);
+                    if(handler.equals("ODL")) g.pathHandler(new ODLPathHandlerBuilder());
+                    if(handler.equals("ODL without full CRUD")) g.pathHandler(new ODLPathHandlerBuilder().withoutFullCrud());
+                    return g;
+                };
+                SwaggerGenerator generator = configured.get();
+                String message = fixture + " for " + handler;
+
+                //when
+                SizeEstimate estimate = generator.estimate();
+                StringWriter writer = new StringWriter();
+                generator.generate(writer);
+
+                //then
+                String generated = writer.toString();
+                StringWriter expected = new StringWriter();
+                configured.get().generate(expected);
+                assertEquals("dry run changed generated document of " + message, expected.toString(), generated);
+
+                Swagger swagger = SwaggerGenerator.read(new StringReader(generated), SwaggerGenerator.Format.JSON);
+                SizeEstimate.Size total = estimate.total();
+                assertEquals(message, swagger.getPaths().size(), total.getPaths());
+                assertEquals(message, swagger.getPaths().values().stream().mapToInt(p -> p.getOperations().size()).sum(), total.getOperations());
+                assertEquals(message, swagger.getDefinitions().size(), total.getDefinitions());
+
+                assertEquals(total.getPaths(), estimate.modules().values().stream().mapToInt(SizeEstimate.Size::getPaths).sum());
+                assertTrue(estimate.subtrees().keySet().stream().allMatch(s -> estimate.modules().containsKey(s.substring(0, s.indexOf(':')))));
+                assertThat(estimate.report(), containsString("total"));
+            }
+        }
+
+        //sizes are fitted to the RESTCONF document of bug_15
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().format(SwaggerGenerator.Format.JSON);
+        long estimated = generator.estimate().total().getBytes();
+        String generated = generate(ctx, SwaggerGenerator.Format.JSON, false);
+        assertTrue(estimated + " estimated for " + generated.length(),
+                Math.abs(estimated - generated.length()) < generated.length() / 10);
+    }
+
+    @Test
+    public void testEstimateError() throws Exception {
+        for(String fixture : Arrays.asList("bug_15", "bug_17", "example", "aug-group-ex", "inheritence-with-augmentation")) {
+            EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals(fixture));
+            for(boolean odl : new boolean[] {false, true}) {
+                //given
+                SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                        .format(SwaggerGenerator.Format.JSON);
+                if(odl) generator.pathHandler(new ODLPathHandlerBuilder());
+                StringWriter writer = new StringWriter();
+
+                //when
+                long estimated = generator.estimate().total().getBytes();
+                generator.generate(writer);
+
+                //then
+                int generated = writer.toString().length();
+                assertTrue(fixture + (odl ? " for ODL" : "") + ": " + estimated + " estimated for " + generated,
+                        Math.abs(estimated - generated) <= generated * 0.15);
+            }
+        }
+    }
+
+    @Test
+    public void testEstimateWithCustomPathHandlerBuilder() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        PathHandlerBuilder delegate = new PathHandlerBuilder();
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new com.mrv.yangtools.codegen.PathHandlerBuilder() {
+                    @Override
+                    public PathHandler forModule(org.opendaylight.yangtools.yang.model.api.Module module) {
+                        return delegate.forModule(module);
+                    }
+
+                    @Override
+                    public void configure(EffectiveModelContext ctx, Swagger target, DataObjectBuilder builder) {
+                        delegate.configure(ctx, target, builder);
+                    }
+
+                    @Override
+                    public void addTagGenerator(TagGenerator generator) {
+                        delegate.addTagGenerator(generator);
+                    }
+
+                    @Override
+                    public Collection<TagGenerator> getTagGenerators() {
+                        return delegate.getTagGenerators();
+                    }
+                });
+
+        //when
+        SizeEstimate.Size total = generator.estimate().total();
+
+        //then
+        Swagger swagger = generator.generate();
+        assertEquals(swagger.getPaths().size(), total.getPaths());
+        assertEquals(swagger.getDefinitions().size(), total.getDefinitions());
+    }
+
+    private static String generate(EffectiveModelContext ctx, SwaggerGenerator.Format format, boolean wrapped) throws IOException {
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().format(format);
+        if(wrapped) {
+            generator.appendPostProcessor(new Rfc4080PayloadWrapper());
+        }
+        StringWriter writer = new StringWriter();
+        generator.generate(writer);
+        return writer.toString();
+    }
+
     @org.junit.Test
     public void testGenerateReadOnlyModule() {
 
@@ -114,6 +415,23 @@ public class SwaggerGeneratorTestIt extends AbstractItTest {
 
     }
 
+    @Test
+    public void testParallelUnpackingSameAsSequential() {
+        //beyond max depth nodes of reused-grouping get no models, so are inlined or referenced depending on build order
+        final Consumer<SwaggerGenerator> unpacking = g -> g.strategy(SwaggerGenerator.Strategy.unpacking).maxDepth(3);
+        for(String fixture : List.of("reused-grouping.yang", "with-groupings.yang", "choice.yang", "read-only.yang", "simplest.yang")) {
+            //when
+            swaggerFor(fixture, unpacking);
+            Map<String, Model> sequential = swagger.getDefinitions();
+
+            //then
+            for(int i = 0; i < 3; i++) {
+                swaggerFor(fixture, unpacking.andThen(SwaggerGenerator::parallelModels));
+                assertEquals(fixture, sequential, swagger.getDefinitions());
+            }
+        }
+    }
+
     @org.junit.Test
     public void testGenerateRPCModule() {
 
@@ -169,4 +487,43 @@ public class SwaggerGeneratorTestIt extends AbstractItTest {
 
         assertEquals(2, nsCount);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOperationComponentsAreShared() {
+        swaggerFor("simplest.yang");
+
+        Path children1 = swagger.getPaths().get("/data/simple-root/children1={id}");
+        Path children2 = swagger.getPaths().get("/data/simple-root/children1={id}/children2={children2-id}");
+
+        assertSame(children1.getGet().getResponses().get("400"), children2.getGet().getResponses().get("400"));
+        assertSame(children1.getGet().getParameters().get(0), children1.getDelete().getParameters().get(0));
+        assertSame(children1.getGet().getTags().get(0), children1.getPut().getTags().get(0));
+
+        assertEquals(1, children1.getGet().getParameters().size());
+        assertEquals(2, children1.getPut().getParameters().size());
+        assertEquals(3, children2.getPut().getParameters().size());
+
+        //lists are owned by operations
+        final int tags = children1.getPut().getTags().size();
+        children1.getGet().tag("extra");
+        children1.getGet().addParameter(new QueryParameter().name("extra"));
+        assertEquals(tags, children1.getPut().getTags().size());
+        assertEquals(1, children1.getDelete().getParameters().size());
+    }
+
+    @Test
+    public void testOperationComponentsReferences() {
+        swaggerFor("simplest.yang", g -> g.pathHandler(new PathHandlerBuilder().useComponentReferences()));
+
+        assertEquals(new HashSet<>(Arrays.asList("id", "children2-id")), swagger.getParameters().keySet());
+        assertThat(swagger.getResponses().keySet(), hasItems("internal-error", "object-created"));
+
+        Path children2 = swagger.getPaths().get("/data/simple-root/children1={id}/children2={children2-id}");
+        List<Parameter> params = children2.getPut().getParameters();
+        assertEquals(3, params.size());
+        assertEquals("#/parameters/id", ((RefParameter) params.get(0)).get$ref());
+        assertEquals("#/parameters/children2-id", ((RefParameter) params.get(1)).get$ref());
+        assertTrue(params.get(2) instanceof BodyParameter);
+        assertEquals("#/responses/internal-error", ((RefResponse) children2.getGet().getResponses().get("400")).get$ref());
+    }
+}
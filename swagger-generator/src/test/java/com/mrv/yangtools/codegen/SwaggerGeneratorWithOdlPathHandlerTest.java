@@ -11,16 +11,24 @@
 package com.mrv.yangtools.codegen;
 
 import com.mrv.yangtools.codegen.impl.path.odl.ODLPathHandlerBuilder;
+import com.mrv.yangtools.codegen.impl.postprocessor.AddSecurityDefinitions;
+import com.mrv.yangtools.codegen.impl.postprocessor.Rfc4080PayloadWrapper;
 import com.mrv.yangtools.common.ContextHelper;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
 import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.BasicAuthDefinition;
 import io.swagger.models.properties.ArrayProperty;
 import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Json;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
@@ -227,4 +235,65 @@ public class SwaggerGeneratorWithOdlPathHandlerTest extends AbstractItTest {
 
         assertEquals(2, nsCount);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSharedPathItems() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+
+        //when
+        String yaml = generate(ctx, SwaggerGenerator.Format.YAML, false);
+        String sharedYaml = generate(ctx, SwaggerGenerator.Format.YAML, true);
+        String sharedJson = generate(ctx, SwaggerGenerator.Format.JSON, true);
+
+        //then
+        assertTrue(sharedYaml.length() < yaml.length());
+        assertThat(sharedYaml, containsString("/operational/parent-container: *path"));
+        assertThat(sharedJson, containsString("{\"$ref\":\"#/paths/~1config~1parent-container\"}"));
+        assertEquals(Json.mapper().valueToTree(SwaggerGenerator.read(new StringReader(yaml), SwaggerGenerator.Format.YAML)),
+                Json.mapper().valueToTree(SwaggerGenerator.read(new StringReader(sharedYaml), SwaggerGenerator.Format.YAML)));
+    }
+
+    @Test
+    public void testConfigAndOperationalShareGet() throws Exception {
+        //given
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        Consumer<Path> singleWrappedSecuredGet = p -> {
+            assertEquals(1, p.getGet().getSecurity().size());
+            assertThat(p.getGet().getResponses().get("200").getResponseSchema().getReference(), not(endsWith("WrapperWrapper")));
+        };
+
+        //when
+        Swagger plain = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new ODLPathHandlerBuilder()).generate();
+        Swagger processed = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new ODLPathHandlerBuilder()).parallelPostprocessing()
+                .appendPostProcessor(new AddSecurityDefinitions().withSecurityDefinition("api_sec", new BasicAuthDefinition()))
+                .appendPostProcessor(new Rfc4080PayloadWrapper())
+                .generate();
+
+        //then
+        Map<String, Path> configPaths = plain.getPaths().entrySet().stream()
+                .filter(e -> e.getKey().startsWith("/config/") && e.getValue().getGet() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertFalse(configPaths.isEmpty());
+        configPaths.forEach((name, path) -> assertSame(name, path.getGet(),
+                plain.getPath(name.replace("/config/", "/operational/")).getGet()));
+
+        processed.getPaths().entrySet().stream()
+                .filter(e -> e.getValue().getGet() != null && !e.getKey().startsWith("/operations/"))
+                .forEach(e -> singleWrappedSecuredGet.accept(e.getValue()));
+        assertFalse(processed.getDefinitions().keySet().stream().anyMatch(d -> d.endsWith("WrapperWrapper")));
+    }
+
+    private static String generate(EffectiveModelContext ctx, SwaggerGenerator.Format format, boolean shared) throws IOException {
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().format(format)
+                .pathHandler(new ODLPathHandlerBuilder().withoutFullCrud());
+        if(shared) {
+            generator.sharePathItems();
+        }
+        StringWriter writer = new StringWriter();
+        generator.generate(writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mrv.yangtools.codegen.SwaggerGenerator;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.util.Yaml;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class FragmentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cachedOutputSameAsDirect() throws Exception {
+        EffectiveModelContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("bug_15"));
+        for(SwaggerGenerator.Format format : SwaggerGenerator.Format.values()) {
+            //given
+            Path store = folder.getRoot().toPath().resolve(format + ".cache");
+            String expected = generate(ctx, format, null);
+
+            //when
+            FragmentCache cold = new FragmentCache(store);
+            String first = generate(ctx, format, cold);
+            FragmentCache warm = new FragmentCache(store);
+            String second = generate(ctx, format, warm);
+
+            //then
+            assertEquals(expected, first);
+            assertEquals(expected, second);
+            assertTrue(Files.exists(store));
+            assertEquals(0, cold.hits());
+            assertTrue(cold.misses() > 0);
+            assertEquals(cold.misses(), warm.hits());
+            assertEquals(0, warm.misses());
+        }
+    }
+
+    @Test
+    public void changedEntryEncodedAgain() throws Exception {
+        //given
+        ObjectMapper mapper = Yaml.mapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        Path store = folder.getRoot().toPath().resolve("yaml.cache");
+        ObjectNode document = mapper.createObjectNode().put("swagger", "2.0");
+        document.putObject("paths").putObject("/data/a").putObject("get").put("description", "read a");
+        ObjectNode definitions = document.putObject("definitions");
+        definitions.putObject("a").put("type", "object");
+        definitions.putObject("b").put("type", "object");
+
+        FragmentCache cache = new FragmentCache(store);
+        cache.writeValueAsString(mapper, document);
+        cache.save();
+
+        //when
+        ((ObjectNode) definitions.get("b")).put("description", "changed");
+        cache = new FragmentCache(store);
+        String changed = cache.writeValueAsString(mapper, document);
+
+        //then
+        assertEquals(mapper.writeValueAsString(document), changed);
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void unusedFragmentsDropped() throws Exception {
+        //given
+        ObjectMapper mapper = Yaml.mapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        Path store = folder.getRoot().toPath().resolve("yaml.cache");
+        ObjectNode document = mapper.createObjectNode();
+        ObjectNode definitions = document.putObject("definitions");
+        definitions.putObject("a").put("type", "object");
+        definitions.putObject("b").put("type", "object");
+        FragmentCache cache = new FragmentCache(store);
+        cache.writeValueAsString(mapper, document);
+        cache.save();
+        long size = Files.size(store);
+
+        //when
+        definitions.remove("b");
+        cache = new FragmentCache(store);
+        cache.writeValueAsString(mapper, document);
+        cache.save();
+
+        //then
+        assertTrue(Files.size(store) < size);
+        cache = new FragmentCache(store);
+        cache.writeValueAsString(mapper, document);
+        assertEquals(1, cache.hits());
+        assertEquals(0, cache.misses());
+    }
+
+    private static String generate(EffectiveModelContext ctx, SwaggerGenerator.Format format, FragmentCache cache) throws Exception {
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().format(format);
+        if(cache != null) {
+            generator.fragmentCache(cache);
+        }
+        StringWriter result = new StringWriter();
+        generator.generate(result);
+        return result.toString();
+    }
+}
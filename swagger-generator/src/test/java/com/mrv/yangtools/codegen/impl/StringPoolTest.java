@@ -0,0 +1,125 @@
+/*
+ *   Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl;
+
+import com.mrv.yangtools.codegen.SwaggerGenerator;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Operation;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class StringPoolTest {
+
+    @Test
+    public void equalStringsShared() {
+        StringPool pool = new StringPool();
+        String first = pool.get(new String("a/b"));
+        assertSame(first, pool.get(new String("a/b")));
+        assertNull(pool.get(null));
+        assertEquals(1, pool.size());
+
+        String value = new String("a/b");
+        assertSame(value, StringPool.NONE.get(value));
+    }
+
+    @Test
+    public void generatedDocumentKeepsFewerStrings() throws Exception {
+        //given
+        //TAPI modules used by the standalone build example, run from the module directory
+        EffectiveModelContext ctx = ContextHelper.getFromDir(Paths.get("..", "examples", "build-standalone", "src", "main", "resources"),
+                p -> p.toString().endsWith(".yang"));
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .format(SwaggerGenerator.Format.JSON);
+        StringWriter json = new StringWriter();
+        generator.generate(json);
+
+        //when
+        Swagger generated = generator.generate();
+        Swagger unpooled = SwaggerGenerator.read(new StringReader(json.toString()), SwaggerGenerator.Format.JSON);
+        Histogram pooled = new Histogram(generated);
+        Histogram copied = new Histogram(unpooled);
+
+        //then
+        assertEquals(copied.distinct(), pooled.distinct());
+        assertTrue(pooled.instances() + " vs " + copied.instances(), pooled.instances() * 3 < copied.instances() * 2);
+
+        Map<String, Set<String>> summaries = new HashMap<>();
+        generated.getPaths().values().stream().flatMap(p -> p.getOperations().stream())
+                .map(Operation::getSummary)
+                .forEach(s -> summaries.computeIfAbsent(s, x -> Collections.newSetFromMap(new IdentityHashMap<>())).add(s));
+        summaries.forEach((s, instances) -> assertEquals(s, 1, instances.size()));
+        assertEquals(1, pooled.instances("400"));
+    }
+
+    /**
+     * String instances reachable from a document
+     */
+    private static class Histogram {
+        private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<String, Integer> instances = new HashMap<>();
+
+        private Histogram(Swagger swagger) throws IllegalAccessException {
+            walk(swagger);
+        }
+
+        int instances() {
+            return instances.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        int instances(String value) {
+            return instances.getOrDefault(value, 0);
+        }
+
+        int distinct() {
+            return instances.size();
+        }
+
+        private void walk(Object o) throws IllegalAccessException {
+            if(o == null || !seen.add(o)) return;
+            if(o instanceof String) {
+                instances.merge((String) o, 1, Integer::sum);
+                return;
+            }
+            Class<?> type = o.getClass();
+            if(o instanceof Map) {
+                for(Map.Entry<?, ?> e : ((Map<?, ?>) o).entrySet()) {
+                    walk(e.getKey());
+                    walk(e.getValue());
+                }
+            } else if(o instanceof Collection) {
+                for(Object e : (Collection<?>) o) walk(e);
+            } else if(type.isArray() && !type.getComponentType().isPrimitive()) {
+                for(int i = 0; i < Array.getLength(o); i++) walk(Array.get(o, i));
+            } else if(o instanceof Swagger || type.getName().startsWith("io.swagger.models") && !(o instanceof Enum)) {
+                for(Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                    for(Field f : c.getDeclaredFields()) {
+                        if(Modifier.isStatic(f.getModifiers()) || f.isSynthetic()) continue;
+                        f.setAccessible(true);
+                        walk(f.get(o));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package com.mrv.yangtools.codegen.impl.path.rfc8040;
 
 import com.mrv.yangtools.codegen.PathSegment;
+import com.mrv.yangtools.codegen.impl.path.odl.ODLRestconfPathPrinter;
 import com.mrv.yangtools.test.utils.MockNodeBuilder;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -82,4 +83,24 @@ public class RestconfPathPrinterTest {
         assertEquals("a/b={x},{y}/c", new RestconfPathPrinter(c, false).path());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void memoizedParentsPerConfiguration() {
+        PathSegment a = new PathSegment(mock(EffectiveModelContext.class))
+                .withName("a")
+                .withModule("mod1");
+        PathSegment b = new PathSegment(a).withName("b")
+                .withListNode(new MockNodeBuilder("test")
+                        .param("x")
+                        .build()
+                );
+        PathSegment c = new PathSegment(b).withName("c").withModule("mod2");
+        PathSegment d = new PathSegment(b).withName("d");
+
+        assertEquals("mod1:a/b={x}/mod2:c", new RestconfPathPrinter(c, true).path());
+        assertEquals("a/b={x}/c", new RestconfPathPrinter(c, false).path());
+        assertEquals("mod1:a/b={x}/d", new RestconfPathPrinter(d, true).path());
+        assertEquals("a/b/", new RestconfPathPrinter(b, false, true).path());
+        assertEquals("mod1:a/b/{x}/d", new ODLRestconfPathPrinter(d, true).path());
+    }
+
+}
@@ -18,6 +18,7 @@ import io.swagger.models.parameters.RefParameter;
 import io.swagger.models.properties.ArrayProperty;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.Assert;
@@ -47,6 +48,93 @@ public class CollapseTypesTest {
         MatcherAssert.assertThat(danglingRefs(swagger), CoreMatchers.equalTo(new HashSet<String>()));
     }
 
+    @Test
+    public void testReduceSamePlainModels() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("a.Leaf", leaf("id"));
+        swagger.addDefinition("b.Leaf", leaf("id"));
+        swagger.addDefinition("c.Leaf", leaf("name"));
+        swagger.addDefinition("a.Container", container("a.Leaf"));
+        swagger.addDefinition("b.Container", container("b.Leaf"));
+        swagger.addDefinition("c.Container", container("c.Leaf"));
+        swagger.path("/b", new Path().get(new Operation()
+                .response(200, new Response().responseSchema(new RefModel("b.Container")))));
+
+        new CollapseTypes().accept(swagger);
+
+        Assert.assertEquals(Set.of("a.Leaf", "c.Leaf", "a.Container", "c.Container"), swagger.getDefinitions().keySet());
+        Assert.assertEquals("a.Container", ((RefModel) swagger.getPath("/b").getGet()
+                .getResponses().get("200").getResponseSchema()).getSimpleRef());
+        MatcherAssert.assertThat(danglingRefs(swagger), CoreMatchers.equalTo(new HashSet<String>()));
+    }
+
+    @Test
+    public void testKeepModelsWithDifferentDocumentation() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("a.Leaf", leaf("id"));
+        swagger.addDefinition("b.Leaf", leaf("id").description("other leaf"));
+        ModelImpl titled = leaf("id");
+        titled.setTitle("c");
+        swagger.addDefinition("c.Leaf", titled);
+
+        new CollapseTypes().accept(swagger);
+
+        Assert.assertEquals(Set.of("a.Leaf", "b.Leaf", "c.Leaf"), swagger.getDefinitions().keySet());
+    }
+
+    @Test
+    public void testReduceNestedAndCyclicModels() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("a.Leaf", leaf("id"));
+        swagger.addDefinition("bb.Leaf", leaf("id"));
+        swagger.addDefinition("a.Container", container("a.Leaf"));
+        swagger.addDefinition("bb.Container", container("bb.Leaf"));
+        swagger.addDefinition("a.Top", container("a.Container"));
+        swagger.addDefinition("bb.Top", container("bb.Container"));
+        //b.Node and zz.Node use each other, b.Node is the same as w.Node once zz.Node is collapsed
+        swagger.addDefinition("b.Node", container("zz.Node"));
+        swagger.addDefinition("zz.Node", container("b.Node"));
+        swagger.addDefinition("y.Node", container("b.Node"));
+        swagger.addDefinition("w.Node", container("y.Node"));
+        swagger.path("/w", new Path().get(new Operation()
+                .response(200, new Response().responseSchema(new RefModel("w.Node")))));
+
+        new CollapseTypes().accept(swagger);
+
+        Assert.assertEquals(Set.of("a.Leaf", "a.Container", "a.Top", "b.Node", "y.Node"),
+                swagger.getDefinitions().keySet());
+        MatcherAssert.assertThat(danglingRefs(swagger), CoreMatchers.equalTo(new HashSet<String>()));
+    }
+
+    @Test
+    public void testReplaceSharedPropertiesWithCopies() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("a.Leaf", leaf("id"));
+        swagger.addDefinition("bb.Leaf", leaf("id"));
+        RefProperty shared = new RefProperty("#/definitions/bb.Leaf");
+        swagger.addDefinition("a.Container", new ModelImpl().type("object").property("leaf", shared).property("other", new StringProperty()));
+        swagger.addDefinition("a.List", new ModelImpl().type("object").property("leaf", shared));
+        swagger.path("/a", new Path().get(new Operation()
+                .response(200, new Response().responseSchema(new RefModel("a.Container")))
+                .response(201, new Response().responseSchema(new RefModel("a.List")))));
+
+        new CollapseTypes().accept(swagger);
+
+        Assert.assertEquals("bb.Leaf", shared.getSimpleRef());
+        Assert.assertEquals("a.Leaf", ((RefProperty) swagger.getDefinitions().get("a.Container").getProperties().get("leaf")).getSimpleRef());
+        Assert.assertEquals("a.Leaf", ((RefProperty) swagger.getDefinitions().get("a.List").getProperties().get("leaf")).getSimpleRef());
+    }
+
+    private static ModelImpl leaf(String property) {
+        return new ModelImpl().type("object").description("leaf with " + property)
+                .property(property, new StringProperty());
+    }
+
+    private static Model container(String leaf) {
+        return new ModelImpl().type("object")
+                .property("leaf", new RefProperty("#/definitions/" + leaf));
+    }
+
     private Stream<String> references(Property model) {
         if(model instanceof ArrayProperty) {
             return references(((ArrayProperty) model).getItems());
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.*;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class DescriptionBudgetTest {
+    private static final String LONG = "A description that is certainly longer than the budget";
+    private Swagger swagger;
+
+    @Before
+    public void setupSwagger() {
+        swagger = new Swagger();
+        ModelImpl model = new ModelImpl().description(LONG)
+                .property("short", new StringProperty().description("short"))
+                .property("list", new ArrayProperty(new StringProperty().description(LONG)).description(LONG));
+        swagger.addDefinition("a/b", model);
+        Operation post = new Operation().description(LONG)
+                .parameter(new BodyParameter().schema(new RefModel("a/b")).description(LONG))
+                .response(200, new Response().description(LONG));
+        swagger.path("/data/a", new Path().post(post));
+    }
+
+    @Test
+    public void truncate() {
+        new DescriptionBudget(10).accept(swagger);
+
+        ModelImpl model = (ModelImpl) swagger.getDefinitions().get("a/b");
+        assertEquals("A descr...", model.getDescription());
+        assertEquals("short", model.getProperties().get("short").getDescription());
+        assertEquals("A descr...", ((ArrayProperty) model.getProperties().get("list")).getItems().getDescription());
+        Operation post = swagger.getPath("/data/a").getPost();
+        assertEquals("A descr...", post.getDescription());
+        assertEquals("A descr...", post.getParameters().get(0).getDescription());
+        assertEquals(LONG, post.getResponses().get("200").getDescription());
+    }
+
+    @Test
+    public void externalize() {
+        DescriptionBudget budget = new DescriptionBudget(5).externalize();
+        budget.accept(swagger);
+
+        ModelImpl model = (ModelImpl) swagger.getDefinitions().get("a/b");
+        assertNull(model.getDescription());
+        assertEquals("short", model.getProperties().get("short").getDescription());
+        assertNull(swagger.getPath("/data/a").getPost().getDescription());
+
+        Map<String, String> descriptions = budget.descriptions();
+        assertEquals(5, descriptions.size());
+        assertEquals(LONG, descriptions.get("#/definitions/a~1b"));
+        assertEquals(LONG, descriptions.get("#/definitions/a~1b/properties/list"));
+        assertEquals(LONG, descriptions.get("#/definitions/a~1b/properties/list/items"));
+        assertEquals(LONG, descriptions.get("#/paths/~1data~1a/post"));
+        assertEquals(LONG, descriptions.get("#/paths/~1data~1a/post/parameters/0"));
+    }
+
+    @Test
+    public void externalizeSharedElements() {
+        //given
+        StringProperty shared = new StringProperty();
+        shared.setDescription(LONG);
+        swagger.addDefinition("c", new ModelImpl().property("shared", shared));
+        swagger.addDefinition("d", new ModelImpl().property("shared", shared));
+        PathParameter id = new PathParameter().name("id").description(LONG);
+        swagger.path("/data/a/{id}", new Path()
+                .get(new Operation().parameter(id))
+                .delete(new Operation().parameter(id)));
+        swagger.addParameter("name", new QueryParameter().name("name").description(LONG));
+
+        //when
+        DescriptionBudget budget = new DescriptionBudget(5).externalize();
+        budget.accept(swagger);
+
+        //then
+        Map<String, String> descriptions = budget.descriptions();
+        assertEquals(LONG, descriptions.get("#/definitions/c/properties/shared"));
+        assertEquals(LONG, descriptions.get("#/definitions/d/properties/shared"));
+        assertEquals(LONG, descriptions.get("#/paths/~1data~1a~1{id}/get/parameters/0"));
+        assertEquals(LONG, descriptions.get("#/paths/~1data~1a~1{id}/delete/parameters/0"));
+        assertEquals(LONG, descriptions.get("#/parameters/name"));
+        assertNull(swagger.getDefinitions().get("c").getProperties().get("shared").getDescription());
+        assertSame(swagger.getDefinitions().get("c").getProperties().get("shared"),
+                swagger.getDefinitions().get("d").getProperties().get("shared"));
+        assertEquals(LONG, shared.getDescription());
+        assertNull(id.getDescription());
+        assertNull(swagger.getParameter("name").getDescription());
+    }
+
+    @Test
+    public void copySharedNestedProperties() {
+        //given
+        StringProperty leaf = new StringProperty();
+        leaf.setDescription(LONG);
+        Map<String, Property> structure = Collections.unmodifiableMap(Map.of("leaf", leaf));
+        swagger.addDefinition("c", new ModelImpl().property("inner", new ObjectProperty(structure)));
+        swagger.addDefinition("d", new ModelImpl().property("inner", new ObjectProperty(structure)));
+
+        //when
+        new DescriptionBudget(10).accept(swagger);
+
+        //then
+        for(String name : List.of("c", "d")) {
+            ObjectProperty inner = (ObjectProperty) swagger.getDefinitions().get(name).getProperties().get("inner");
+            assertNotSame(structure, inner.getProperties());
+            assertEquals("A descr...", inner.getProperties().get("leaf").getDescription());
+        }
+        assertSame(structure.get("leaf"), leaf);
+        assertEquals(LONG, leaf.getDescription());
+    }
+
+    @Test
+    public void dropAll() {
+        new DescriptionBudget(0).accept(swagger);
+
+        ModelImpl model = (ModelImpl) swagger.getDefinitions().get("a/b");
+        assertNull(model.getDescription());
+        assertNull(model.getProperties().get("short").getDescription());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class KeywordMatcherTest {
+
+    @Test
+    public void lowestIndexWins() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("hers", "she", "he", "his"));
+
+        assertEquals("hers", matcher.first("ushers"));
+        assertEquals("she", matcher.first("ushe"));
+        assertEquals("his", matcher.first("this"));
+    }
+
+    @Test
+    public void matchesFoundThroughSuffixes() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("abcd", "bc", "c"));
+
+        assertEquals("bc", matcher.first("abce"));
+        assertEquals("c", matcher.first("aacx"));
+        assertEquals("abcd", matcher.first("xabcd"));
+    }
+
+    @Test
+    public void noMatch() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("a.Type"));
+
+        assertNull(matcher.first("b.Type"));
+        assertNull(matcher.first(null));
+        assertNull(new KeywordMatcher(List.of()).first("a.Type"));
+    }
+}
@@ -9,11 +9,16 @@
 
 package com.mrv.yangtools.codegen.impl.postprocessor;
 
+import io.swagger.models.Path;
 import org.hamcrest.core.Every;
 import org.hamcrest.core.StringStartsWith;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.*;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertEquals;
@@ -61,6 +66,19 @@ public class PathPrunnerTest extends AbstractWithSwagger {
         Assert.assertThat(swagger.getPaths().keySet(), hasItem(StringStartsWith.startsWith("/b")));
     }
 
+    @Test
+    public void prunePathBExcludingPropE() {
+        int orgPathsCnt = swagger.getPaths().size();
+        new PathPrunner("/b/propE")
+                .prunePath("/b")
+                .accept(swagger);
+        assertEquals(orgPathsCnt - 2, swagger.getPaths().size());
+        Assert.assertThat(swagger.getPaths().keySet(), hasItems(
+                is("/b/propE"),
+                is("/b/propE/propF")
+        ));
+    }
+
     @Test
     public void pruneParent2() {
 
@@ -76,5 +94,19 @@ public class PathPrunnerTest extends AbstractWithSwagger {
         assertEquals(orgDefCnt, swagger.getDefinitions().size());
     }
 
+    @Test
+    public void pruneByTypeInCycleIndependentOfOrder() {
+        swagger.addDefinition("x", m(new LinkedHashSet<>(Arrays.asList("y", "Parent1")), emptyMap()));
+        swagger.addDefinition("y", m(singleton("x"), emptyMap()));
+        Map<String, Path> paths = new LinkedHashMap<>();
+        paths.put("/x", p("x"));
+        paths.put("/y", p("y"));
+        paths.put("/c", p("c"));
+        swagger.setPaths(paths);
 
+        new PathPrunner()
+                .withType("Parent1")
+                .accept(swagger);
+        assertEquals(Arrays.asList("/x", "/y"), new ArrayList<>(swagger.getPaths().keySet()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.BasicAuthDefinition;
+import io.swagger.util.Json;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class PostProcessorPipelineTest extends AbstractWithSwagger {
+
+    @Test
+    public void visitorsAreFused() {
+        Consumer<Swagger> legacy = s -> {};
+        PostProcessorPipeline pipeline = new PostProcessorPipeline()
+                .append(new ReplaceEmptyWithParent())
+                .append(new SortComplexModels())
+                .append(new Rfc4080PayloadWrapper())
+                .append(new RemoveUnusedDefinitions())
+                .append(legacy)
+                .append(new SortComplexModels());
+
+        List<Integer> sizes = pipeline.stages().stream().map(List::size).collect(Collectors.toList());
+
+        assertEquals(List.of(1, 3, 1, 1), sizes);
+    }
+
+    @Test
+    public void sameResultAsSequential() {
+        Swagger fused = swagger;
+        setupSwagger();
+        Swagger sequential = swagger;
+
+        new CollapseTypes().accept(sequential);
+        new SortComplexModels().accept(sequential);
+        new Rfc4080PayloadWrapper().accept(sequential);
+        new RemoveUnusedDefinitions().accept(sequential);
+
+        new PostProcessorPipeline()
+                .append(new CollapseTypes())
+                .append(new SortComplexModels())
+                .append(new Rfc4080PayloadWrapper())
+                .append(new RemoveUnusedDefinitions())
+                .accept(fused);
+
+        assertEquals(Json.pretty(sequential), Json.pretty(fused));
+    }
+
+    @Test
+    public void parallelSameAsSequential() {
+        Swagger parallel = swagger;
+        setupSwagger();
+        Swagger sequential = swagger;
+
+        pipeline().accept(sequential);
+        pipeline().parallel(true).accept(parallel);
+
+        assertEquals(Json.pretty(sequential), Json.pretty(parallel));
+    }
+
+    private static PostProcessorPipeline pipeline() {
+        return new PostProcessorPipeline()
+                .append(new AddSecurityDefinitions().withSecurityDefinition("api_sec", new BasicAuthDefinition()))
+                .append(new CollapseTypes())
+                .append(new SortComplexModels())
+                .append(new Rfc4080PayloadWrapper())
+                .append(new RemoveUnusedDefinitions());
+    }
+}
@@ -15,7 +15,9 @@ import org.junit.Test;
 import java.util.Map;
 
 import static com.mrv.yangtools.codegen.impl.postprocessor.AbstractWithSwagger.Type.R;
+import static java.util.Collections.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * @author bartosz.michalik@amartus.com
@@ -80,4 +82,19 @@ public class RemoveUnusedDefinitionsTest extends AbstractWithSwagger {
 
         assertEquals(initial - 2, swagger.getDefinitions().size());
     }
+
+    @Test
+    public void removingUnusedCycle() {
+        swagger.addDefinition("x", m(singleton("y"), emptyMap()));
+        swagger.addDefinition("y", m(singleton("Parent2"), singletonMap("propX", "x")));
+        swagger.addDefinition("z", m(singleton("Parent1"), singletonMap("propZ", "z")));
+        int initial = swagger.getDefinitions().size();
+
+        new RemoveUnusedDefinitions().accept(swagger);
+
+        assertEquals(initial - 3, swagger.getDefinitions().size());
+        assertFalse(swagger.getDefinitions().containsKey("x"));
+        assertFalse(swagger.getDefinitions().containsKey("y"));
+        assertFalse(swagger.getDefinitions().containsKey("z"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class SingleParentInheritenceModelTest extends AbstractWithSwagger {
+
+    @Test
+    public void singleParent() {
+        new SingleParentInheritenceModel().accept(swagger);
+
+        ComposedModel b = (ComposedModel) swagger.getDefinitions().get("b");
+        assertEquals("Parent2", ((RefModel) b.getParent()).getSimpleRef());
+        assertEquals(Set.of("propE", "propNW"), b.getChild().getProperties().keySet());
+    }
+
+    @Test
+    public void wideLattice() {
+        final int depth = 40;
+        swagger.addDefinition("t0", m(Set.of("Parent1"), singletonMap("p0", "e")));
+        for(int i = 1; i <= depth; i++) {
+            String previous = "t" + (i - 1);
+            swagger.addDefinition("l" + i, m(Set.of(previous), singletonMap("l" + i, "e")));
+            swagger.addDefinition("r" + i, m(Set.of(previous), singletonMap("r" + i, "e")));
+            swagger.addDefinition("t" + i, m(Set.of("l" + i, "r" + i), singletonMap("t" + i, "e")));
+        }
+
+        new SingleParentInheritenceModel().accept(swagger);
+
+        ComposedModel top = (ComposedModel) swagger.getDefinitions().get("t" + depth);
+        assertEquals(1, top.getAllOf().stream().filter(m -> m instanceof RefModel).count());
+        ModelImpl child = (ModelImpl) top.getChild();
+        assertTrue(child.getProperties().containsKey("t" + depth));
+        assertTrue(child.getProperties().containsKey("r1"));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2024 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import io.swagger.models.Model;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class TypeGraphTest extends AbstractWithSwagger {
+
+    @Test
+    public void relations() {
+        TypeGraph graph = new TypeGraph(swagger);
+
+        assertEquals(Set.of("Parent1", "Parent2"), set(graph.references("b")));
+        assertEquals(Set.of("a", "b", "d"), set(graph.referencedBy("Parent1")));
+        assertEquals(Set.of("e", "Parent2"), set(graph.uses("b")));
+        assertEquals(Set.of("b"), set(graph.usedBy("e")));
+        assertEquals(Set.of("/b/propE"), set(graph.paths("e")));
+        assertTrue(graph.references("unknown").isEmpty());
+    }
+
+    @Test
+    public void replace() {
+        TypeGraph graph = new TypeGraph(swagger);
+        graph.references("a");
+
+        swagger.getDefinitions().remove("d");
+        graph.replace("d", "a");
+
+        assertFalse(graph.contains("d"));
+        assertEquals(Set.of("c"), set(graph.usedBy("a")));
+        assertEquals(Set.of("a", "b"), set(graph.referencedBy("Parent1")));
+        assertEquals(Set.of("/a", "/c/propD"), set(graph.paths("a")));
+    }
+
+    @Test
+    public void update() {
+        TypeGraph graph = new TypeGraph(swagger);
+        graph.references("a");
+
+        Model f = m(singleton("Parent2"), emptyMap());
+        swagger.addDefinition("f", f);
+        graph.update("f", f);
+        Model g = m(singleton("f"), emptyMap());
+        swagger.addDefinition("g", g);
+        graph.update("g", g);
+
+        assertTrue(graph.referencedBy("a").isEmpty());
+        assertEquals(Set.of("c", "e", "b", "f"), set(graph.referencedBy("Parent2")));
+        assertEquals(Set.of("g"), set(graph.referencedBy("f")));
+    }
+
+    @Test
+    public void changesBeforeBuildAreIgnored() {
+        TypeGraph graph = new TypeGraph(swagger);
+
+        swagger.getDefinitions().remove("d");
+        graph.remove("d");
+        graph.replace("d", "a");
+
+        assertFalse(graph.contains("d"));
+        assertEquals(Set.of("a", "b"), set(graph.referencedBy("Parent1")));
+    }
+
+    private static Set<String> set(List<String> names) {
+        Set<String> result = new HashSet<>(names);
+        assertEquals("no duplicates expected", names.size(), result.size());
+        return result;
+    }
+}